@@ -0,0 +1,212 @@
+package com.aarohi.tms.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.aarohi.tms.TaskManagementSystemApplication;
+import com.aarohi.tms.dto.ComplaintSummary;
+import com.aarohi.tms.entity.Complaint;
+import com.aarohi.tms.entity.ComplaintType;
+import com.aarohi.tms.entity.Expense;
+import com.aarohi.tms.entity.Priority;
+import com.aarohi.tms.entity.Status;
+import com.aarohi.tms.index.ActiveComplaintIndex;
+import com.aarohi.tms.index.ComplaintSearchIndex;
+import com.aarohi.tms.stats.ComplaintStatsEngine;
+import com.aarohi.tms.stats.ExpenseDailyRollups;
+import com.aarohi.tms.stats.ExpenseRunningTotals;
+
+/**
+ * Shared setup for benchmarks: boots the application on embedded H2 and seeds data
+ */
+final class BenchmarkSupport {
+    
+    static final int STAFF_COUNT = 20;
+    
+    private static final int BATCH_SIZE = 5_000;
+    
+    private static final String[] CITIES = {
+        "Pune", "Mumbai", "Nashik", "Nagpur", "Aurangabad", "Kolhapur", "Solapur", "Satara"
+    };
+    
+    private static final String[] MODELS = {
+        "Usha Janome Allure", "Singer Heavy Duty 4423", "Brother GS2700", "Usha Wonder Stitch", "Merritt Aura"
+    };
+    
+    private BenchmarkSupport() {}
+    
+    /**
+     * Start the application with the benchmark profile (see application-benchmark.properties)
+     */
+    static ConfigurableApplicationContext startApplication() {
+        return startApplication(0);
+    }
+    
+    /**
+     * Start the application with every JDBC statement and commit delayed by dbLatencyMs
+     */
+    static ConfigurableApplicationContext startApplication(long dbLatencyMs) {
+        return new SpringApplicationBuilder(TaskManagementSystemApplication.class)
+                .logStartupInfo(false)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new DatabaseLatency(dbLatencyMs)))
+                .run("--spring.profiles.active=benchmark");
+    }
+    
+    /**
+     * Seed staff users, then the given number of complaints, expenses and staff expenses
+     * Complaint ids run from 1 to rows
+     */
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        LocalDateTime now = LocalDateTime.now();
+        
+        List<Long> staffIds = new ArrayList<>();
+        for (int i = 1; i <= STAFF_COUNT; i++) {
+            jdbc.update("INSERT INTO users (username, email, full_name, mobile_number, password, role, created_date, is_active, token_version) " +
+                        "VALUES (?, ?, ?, ?, ?, 'STAFF', ?, TRUE, 0)",
+                        "staff" + i, "staff" + i + "@example.com", "Staff Member " + i,
+                        String.format("8%09d", i), "{noop}benchmark", Timestamp.valueOf(now));
+            staffIds.add(jdbc.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, "staff" + i));
+        }
+        
+        Status[] statuses = Status.values();
+        Priority[] priorities = Priority.values();
+        ComplaintType[] types = ComplaintType.values();
+        
+        List<Object[]> complaints = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> expenses = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> staffExpenses = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= rows; i++) {
+            Status status = statuses[i % statuses.length];
+            Long staffId = status == Status.OPEN ? null : staffIds.get(i % STAFF_COUNT);
+            Timestamp created = Timestamp.valueOf(now.minusMinutes(i));
+            complaints.add(new Object[] {
+                (long) i, "Customer " + i, mobileNumber(i), CITIES[i % CITIES.length], "MH",
+                MODELS[i % MODELS.length], "Machine not working " + i, types[i % types.length].name(),
+                status.name(), priorities[i % priorities.length].name(), staffId,
+                staffId != null ? Timestamp.valueOf(now.plusHours(i % 240)) : null, created, created
+            });
+            expenses.add(new Object[] {
+                (long) i, (long) i, "Spare parts " + i, BigDecimal.valueOf(100 + i % 900), created, staffIds.get(i % STAFF_COUNT)
+            });
+            staffExpenses.add(new Object[] {
+                (long) i, staffIds.get(i % STAFF_COUNT), BigDecimal.valueOf(50 + i % 450), "Travel " + i,
+                i % 3 == 0, created, created, created
+            });
+            if (complaints.size() == BATCH_SIZE || i == rows) {
+                flush(jdbc, complaints, expenses, staffExpenses);
+            }
+        }
+        startIdGenerator(jdbc, "expenses", rows);
+        startIdGenerator(jdbc, "staff_expenses", rows);
+    }
+    
+    /**
+     * Move a pooled id generator past ids inserted through JDBC (see V7__pooled_expense_ids.sql)
+     */
+    private static void startIdGenerator(JdbcTemplate jdbc, String name, long maxId) {
+        int updated = jdbc.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ?", maxId + 50, name);
+        if (updated == 0) {
+            jdbc.update("INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)", name, maxId + 50);
+        }
+    }
+    
+    private static void flush(JdbcTemplate jdbc, List<Object[]> complaints, List<Object[]> expenses,
+                              List<Object[]> staffExpenses) {
+        jdbc.batchUpdate("INSERT INTO complaints (id, customer_name, mobile_number, city, state, machine_name_model, " +
+                         "problem_description, complaint_type, status, priority, assigned_staff_id, schedule_date, " +
+                         "created_date, updated_date, address, under_warranty) " +
+                         "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'Benchmark address', FALSE)", complaints);
+        jdbc.batchUpdate("INSERT INTO expenses (id, complaint_id, description, amount, expense_date, added_by_user_id) " +
+                         "VALUES (?, ?, ?, ?, ?, ?)", expenses);
+        jdbc.batchUpdate("INSERT INTO staff_expenses (id, staff_user_id, amount, reason, is_paid_by_company, expense_date, " +
+                         "created_at, updated_at, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'PENDING')", staffExpenses);
+        complaints.clear();
+        expenses.clear();
+        staffExpenses.clear();
+    }
+    
+    /**
+     * Rebuild indexes and running totals after seeding through JDBC (which bypasses the services)
+     */
+    static void rebuildIndexes(ConfigurableApplicationContext context) {
+        context.getBean(ComplaintSearchIndex.class).rebuild();
+        context.getBean(ActiveComplaintIndex.class).rebuild();
+        context.getBean(ComplaintStatsEngine.class).rebuild();
+        context.getBean(ExpenseRunningTotals.class).rebuild();
+        context.getBean(ExpenseDailyRollups.class).rebuild();
+    }
+    
+    static String mobileNumber(int i) {
+        return String.format("9%09d", i);
+    }
+    
+    /**
+     * Detached complaints for serialization benchmarks
+     */
+    static List<Complaint> complaints(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        Status[] statuses = Status.values();
+        Priority[] priorities = Priority.values();
+        List<Complaint> complaints = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Complaint complaint = new Complaint();
+            complaint.setId((long) i);
+            complaint.setCustomerName("Customer " + i);
+            complaint.setMobileNumber(mobileNumber(i));
+            complaint.setAddress("Benchmark address " + i);
+            complaint.setCity(CITIES[i % CITIES.length]);
+            complaint.setState("MH");
+            complaint.setMachineNameModel(MODELS[i % MODELS.length]);
+            complaint.setProblemDescription("Machine not working " + i);
+            complaint.setComplaintType(ComplaintType.MACHINE_REPAIR);
+            complaint.setStatus(statuses[i % statuses.length]);
+            complaint.setPriority(priorities[i % priorities.length]);
+            complaint.setCreatedDate(now.minusMinutes(i));
+            complaint.setScheduledDate(now.plusHours(i % 240));
+            complaint.setUpdatedDate(now);
+            complaints.add(complaint);
+        }
+        return complaints;
+    }
+    
+    /**
+     * List projections matching the complaints, as served by GET /complaints/summary
+     */
+    static List<ComplaintSummary> complaintSummaries(int count) {
+        List<ComplaintSummary> summaries = new ArrayList<>(count);
+        for (Complaint c : complaints(count)) {
+            long staff = c.getId() % STAFF_COUNT + 1;
+            summaries.add(new ComplaintSummary(c.getId(), c.getCustomerName(), c.getMobileNumber(), c.getCity(),
+                    c.getStatus(), c.getPriority(), c.getComplaintType(), c.getCreatedDate(), c.getScheduledDate(),
+                    staff + 1, "Staff Member " + staff, BigDecimal.valueOf(100 + c.getId() % 900), 1L));
+        }
+        return summaries;
+    }
+    
+    /**
+     * Detached expenses for serialization benchmarks
+     */
+    static List<Expense> expenses(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Expense> expenses = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Expense expense = new Expense();
+            expense.setId((long) i);
+            expense.setDescription("Spare parts for complaint " + i);
+            expense.setAmount(BigDecimal.valueOf(100 + (i % 900), 0));
+            expense.setExpenseDate(now.minusMinutes(i));
+            expense.setReceiptNumber("RCPT-" + i);
+            expense.setVendorName("Vendor " + (i % 25));
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+}
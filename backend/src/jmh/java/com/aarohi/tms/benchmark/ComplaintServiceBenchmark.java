@@ -0,0 +1,78 @@
+package com.aarohi.tms.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.aarohi.tms.entity.Complaint;
+import com.aarohi.tms.entity.Priority;
+import com.aarohi.tms.entity.Status;
+import com.aarohi.tms.service.ComplaintService;
+import com.aarohi.tms.service.ComplaintService.ComplaintStats;
+
+/**
+ * ComplaintService search and dashboard statistics against a seeded H2 database
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx8g"})
+public class ComplaintServiceBenchmark {
+    
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+    
+    private ConfigurableApplicationContext context;
+    private ComplaintService complaintService;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        BenchmarkSupport.seed(context, rows);
+        BenchmarkSupport.rebuildIndexes(context);
+        complaintService = context.getBean(ComplaintService.class);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<Complaint> searchByCustomerName() {
+        return complaintService.searchComplaints("Customer 123", null, null, null, null, null, null);
+    }
+    
+    @Benchmark
+    public List<Complaint> searchByMobileNumber() {
+        return complaintService.searchComplaints(null, BenchmarkSupport.mobileNumber(rows / 2), null,
+                                                 null, null, null, null);
+    }
+    
+    @Benchmark
+    public List<Complaint> searchByKeywordAndStatus() {
+        return complaintService.searchComplaints(null, null, "Kolhapur", Status.ASSIGNED, Priority.URGENT,
+                                                 null, null);
+    }
+    
+    @Benchmark
+    public ComplaintStats getComplaintStats() {
+        return complaintService.getComplaintStats();
+    }
+}
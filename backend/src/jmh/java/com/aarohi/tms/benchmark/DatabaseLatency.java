@@ -0,0 +1,73 @@
+package com.aarohi.tms.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Wraps the DataSource so every statement execution and commit pays a fixed round trip
+ * Stands in for the network between the application and MySQL, which H2 in memory does not have
+ */
+final class DatabaseLatency implements BeanPostProcessor {
+    
+    private final long latencyMs;
+    
+    DatabaseLatency(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (latencyMs <= 0 || !(bean instanceof DataSource)) {
+            return bean;
+        }
+        return proxy(DataSource.class, bean, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection ? proxy(Connection.class, result, this::onConnection) : result;
+        });
+    }
+    
+    private Object onConnection(Object connection, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("commit")) {
+            pause();
+        }
+        Object result = invoke(connection, method, args);
+        if (result instanceof Statement && method.getReturnType().isInterface()) {
+            return proxy(method.getReturnType(), result, (statement, m, a) -> {
+                if (m.getName().startsWith("execute")) {
+                    pause();
+                }
+                return invoke(statement, m, a);
+            });
+        }
+        return result;
+    }
+    
+    private void pause() throws InterruptedException {
+        Thread.sleep(latencyMs);
+    }
+    
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+    
+    private static Object proxy(Class<?> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return Proxy.newProxyInstance(DatabaseLatency.class.getClassLoader(), new Class<?>[] {type}, invocationHandler);
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
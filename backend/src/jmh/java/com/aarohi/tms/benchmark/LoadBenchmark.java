@@ -0,0 +1,436 @@
+package com.aarohi.tms.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.aarohi.tms.TaskManagementSystemApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * HTTP load benchmark comparing platform-thread and virtual-thread request execution
+ *
+ * Not a JMH benchmark: each mode runs in its own JVM, boots the application on H2 with the
+ * benchmark profile (plus virtual-threads), seeds it and drives a fixed number of concurrent
+ * clients through a mixed read/write workload over real HTTP. Every JDBC statement and commit
+ * sleeps for --db-latency-ms to stand in for the network round trip to MySQL, which is what
+ * ties up request threads in production. Prints throughput and latency percentiles per mode.
+ *
+ * Run: mvn -Pjmh,java21 test-compile exec:exec -Dbench.main=com.aarohi.tms.benchmark.LoadBenchmark
+ * Options go in -Djmh.args, see BENCHMARKS.md
+ */
+public final class LoadBenchmark {
+    
+    private static final String ADMIN_USERNAME = "admin";
+    private static final String ADMIN_PASSWORD = "aarohi@18";
+    
+    private static final String RESULT_PREFIX = "RESULT ";
+    
+    /**
+     * Request mix, weights add up to 100
+     */
+    private enum Operation {
+        LIST_PAGE(35, false),
+        SEARCH(15, false),
+        COMPLAINT_STATS(10, false),
+        EXPENSE_STATS(10, false),
+        STAFF_REPORT(5, false),
+        UPDATE_STATUS(20, true),
+        CREATE(5, true);
+        
+        private final int weight;
+        private final boolean write;
+        
+        Operation(int weight, boolean write) {
+            this.weight = weight;
+            this.write = write;
+        }
+    }
+    
+    private final Map<String, String> options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private LoadBenchmark(Map<String, String> options) {
+        this.options = options;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("mode", "both");
+        options.put("rows", "5000");
+        options.put("concurrency", "400");
+        options.put("warmup", "15");
+        options.put("duration", "60");
+        options.put("db-latency-ms", "2");
+        options.put("seed", "42");
+        options.put("pool", "");
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --option=value, got " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            if (!options.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown option " + key + ", expected one of " + options.keySet());
+            }
+            options.put(key, arg.substring(arg.indexOf('=') + 1));
+        }
+        
+        LoadBenchmark benchmark = new LoadBenchmark(options);
+        String mode = options.get("mode");
+        if ("both".equals(mode)) {
+            benchmark.compareModes();
+        } else {
+            benchmark.runMode(mode);
+        }
+        System.exit(0);
+    }
+    
+    /**
+     * Run each mode in a fresh JVM and print a comparison table
+     */
+    private void compareModes() throws Exception {
+        List<String> results = new ArrayList<>();
+        for (String mode : List.of("platform", "virtual")) {
+            if ("virtual".equals(mode) && Runtime.version().feature() < 21) {
+                System.out.println("Skipping virtual mode: needs Java 21, running on " + Runtime.version().feature());
+                continue;
+            }
+            results.add(fork(mode));
+        }
+        
+        System.out.println();
+        System.out.printf("rows=%s concurrency=%s duration=%ss db-latency=%sms%n", options.get("rows"),
+                options.get("concurrency"), options.get("duration"), options.get("db-latency-ms"));
+        System.out.printf("%-9s %6s %10s %9s %9s %9s %10s %10s %8s%n",
+                "mode", "pool", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "read p99", "write p99", "errors");
+        for (String result : results) {
+            Map<String, String> r = parseResult(result);
+            System.out.printf("%-9s %6s %10s %9s %9s %9s %10s %10s %8s%n", r.get("mode"), r.get("pool"),
+                    r.get("throughput"), r.get("p50"), r.get("p99"), r.get("p999"), r.get("readP99"),
+                    r.get("writeP99"), r.get("errors"));
+        }
+    }
+    
+    private String fork(String mode) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> command = new ArrayList<>(List.of(java, "-Xms1g", "-Xmx2g",
+                "-cp", System.getProperty("java.class.path"), LoadBenchmark.class.getName()));
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            String value = "mode".equals(option.getKey()) ? mode : option.getValue();
+            command.add("--" + option.getKey() + "=" + value);
+        }
+        
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                System.out.println("[" + mode + "] " + line);
+                if (line.startsWith(RESULT_PREFIX)) {
+                    result = line;
+                }
+            }
+        }
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException("Benchmark run for " + mode + " mode failed");
+        }
+        return result;
+    }
+    
+    private static Map<String, String> parseResult(String line) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String pair : line.substring(RESULT_PREFIX.length()).split(" ")) {
+            values.put(pair.substring(0, pair.indexOf('=')), pair.substring(pair.indexOf('=') + 1));
+        }
+        return values;
+    }
+    
+    /**
+     * Boot, seed, warm up and measure one execution mode in this JVM
+     */
+    private void runMode(String mode) throws Exception {
+        boolean virtual = "virtual".equals(mode);
+        if (!virtual && !"platform".equals(mode)) {
+            throw new IllegalArgumentException("Unknown mode " + mode + ", expected platform, virtual or both");
+        }
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual mode needs Java 21, build with -Pjava21");
+        }
+        int rows = intOption("rows");
+        long latencyMs = intOption("db-latency-ms");
+        
+        // devtools would restart this main class with the Spring arguments below
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> args = new ArrayList<>();
+        args.add("--spring.profiles.active=benchmark" + (virtual ? ",virtual-threads" : ""));
+        if (!options.get("pool").isEmpty()) {
+            args.add("--spring.datasource.hikari.maximum-pool-size=" + options.get("pool"));
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagementSystemApplication.class)
+                .logStartupInfo(false)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new DatabaseLatency(latencyMs)))
+                .run(args.toArray(new String[0]));
+        try {
+            BenchmarkSupport.seed(context, rows);
+            // Seeded ids were explicit, move the identity past them so POST /complaints works
+            context.getBean(JdbcTemplate.class)
+                    .execute("ALTER TABLE complaints ALTER COLUMN id RESTART WITH " + (rows + 1));
+            BenchmarkSupport.rebuildIndexes(context);
+            
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            String token = login(client, baseUrl);
+            String pool = String.valueOf(context.getBean(DataSource.class)
+                    .unwrap(HikariDataSource.class).getMaximumPoolSize());
+            
+            System.out.printf("Running %s mode: %d clients, %ds warmup, %ds measurement%n", mode,
+                    intOption("concurrency"), intOption("warmup"), intOption("duration"));
+            Measurement measurement = drive(client, baseUrl, token, rows);
+            measurement.printBreakdown();
+            System.out.println(RESULT_PREFIX + measurement.format(mode, pool));
+        } finally {
+            context.close();
+        }
+    }
+    
+    private String login(HttpClient client, String baseUrl) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("username", ADMIN_USERNAME,
+                "password", ADMIN_PASSWORD, "role", "ADMIN"));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/signin"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed: " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+    
+    /**
+     * Run the clients through warmup and measurement; only requests started during measurement count
+     */
+    private Measurement drive(HttpClient client, String baseUrl, String token, int rows) throws InterruptedException {
+        int concurrency = intOption("concurrency");
+        long seed = Long.parseLong(options.get("seed"));
+        Measurement measurement = new Measurement(concurrency);
+        
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(intOption("warmup")).toNanos();
+        long measureUntil = measureFrom + Duration.ofSeconds(intOption("duration")).toNanos();
+        
+        List<Thread> clients = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int clientId = i;
+            Thread thread = new Thread(() -> {
+                Random random = new Random(seed + clientId);
+                while (true) {
+                    long begin = System.nanoTime();
+                    if (begin >= measureUntil) {
+                        return;
+                    }
+                    Operation operation = pick(random);
+                    boolean ok;
+                    try {
+                        HttpResponse<Void> response = client.send(request(operation, random, baseUrl, token, rows),
+                                HttpResponse.BodyHandlers.discarding());
+                        ok = response.statusCode() < 400;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    if (begin >= measureFrom) {
+                        measurement.record(clientId, operation, System.nanoTime() - begin, ok);
+                    }
+                }
+            }, "load-client-" + i);
+            thread.start();
+            clients.add(thread);
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        measurement.elapsedNanos = measureUntil - measureFrom;
+        return measurement;
+    }
+    
+    private static Operation pick(Random random) {
+        int roll = random.nextInt(100);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return Operation.LIST_PAGE;
+    }
+    
+    private HttpRequest request(Operation operation, Random random, String baseUrl, String token, int rows) {
+        long id = 1 + random.nextInt(rows);
+        HttpRequest.Builder builder;
+        switch (operation) {
+            case LIST_PAGE:
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/complaints/page?size=20&page=" + random.nextInt(50)));
+                break;
+            case SEARCH:
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/complaints/search?keyword="
+                        + URLEncoder.encode("Customer " + id, StandardCharsets.UTF_8)));
+                break;
+            case COMPLAINT_STATS:
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/complaints/stats"));
+                break;
+            case EXPENSE_STATS:
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/expenses/stats"));
+                break;
+            case STAFF_REPORT:
+                LocalDate from = LocalDate.now().plusDays(random.nextInt(7));
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/complaints/schedule/staff-summary?startDate="
+                        + from.atStartOfDay() + "&endDate=" + from.plusDays(7).atStartOfDay()));
+                break;
+            case UPDATE_STATUS:
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/complaints/" + id
+                        + "/status?status=" + (random.nextBoolean() ? "IN_PROGRESS" : "ASSIGNED")))
+                        .PUT(HttpRequest.BodyPublishers.noBody());
+                break;
+            case CREATE:
+                String body = "{\"customerName\":\"Load " + id + "\",\"mobileNumber\":\"" + BenchmarkSupport.mobileNumber((int) id)
+                        + "\",\"address\":\"Benchmark address\",\"city\":\"Pune\",\"state\":\"MH\","
+                        + "\"machineNameModel\":\"Usha Janome Allure\",\"problemDescription\":\"Load test\","
+                        + "\"complaintType\":\"MACHINE_REPAIR\",\"priority\":\"MEDIUM\"}";
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/complaints"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+        return builder.header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+    
+    private int intOption(String name) {
+        return Integer.parseInt(options.get(name));
+    }
+    
+    /**
+     * Per-client latency logs, merged once the run is over
+     */
+    private static final class Measurement {
+        
+        private final long[][] reads;
+        private final long[][] writes;
+        private final int[] readCounts;
+        private final int[] writeCounts;
+        private final AtomicLong errors = new AtomicLong();
+        private final LongAdder[] operationCounts = adders();
+        private final LongAdder[] operationNanos = adders();
+        private long elapsedNanos;
+        
+        Measurement(int clients) {
+            reads = new long[clients][1024];
+            writes = new long[clients][256];
+            readCounts = new int[clients];
+            writeCounts = new int[clients];
+        }
+        
+        void record(int client, Operation operation, long nanos, boolean ok) {
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+            operationCounts[operation.ordinal()].increment();
+            operationNanos[operation.ordinal()].add(nanos);
+            if (operation.write) {
+                writes[client] = append(writes[client], writeCounts[client]++, nanos);
+            } else {
+                reads[client] = append(reads[client], readCounts[client]++, nanos);
+            }
+        }
+        
+        private static LongAdder[] adders() {
+            LongAdder[] adders = new LongAdder[Operation.values().length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+        
+        /**
+         * Mean latency per operation, to see which part of the mix dominates
+         */
+        void printBreakdown() {
+            for (Operation operation : Operation.values()) {
+                long count = operationCounts[operation.ordinal()].sum();
+                System.out.printf("  %-16s %8d requests, mean %8.1f ms%n", operation, count,
+                        count == 0 ? 0 : operationNanos[operation.ordinal()].sum() / 1e6 / count);
+            }
+        }
+        
+        private static long[] append(long[] log, int index, long value) {
+            long[] target = index < log.length ? log : Arrays.copyOf(log, log.length * 2);
+            target[index] = value;
+            return target;
+        }
+        
+        String format(String mode, String pool) {
+            long[] readAll = merge(reads, readCounts);
+            long[] writeAll = merge(writes, writeCounts);
+            long[] all = Arrays.copyOf(readAll, readAll.length + writeAll.length);
+            System.arraycopy(writeAll, 0, all, readAll.length, writeAll.length);
+            Arrays.sort(all);
+            double seconds = elapsedNanos / 1e9;
+            return String.format("mode=%s pool=%s requests=%d throughput=%.0f p50=%.1f p99=%.1f p999=%.1f "
+                    + "max=%.1f readP99=%.1f writeP99=%.1f errors=%d", mode, pool, all.length, all.length / seconds,
+                    percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999),
+                    percentile(all, 1.0), percentile(readAll, 0.99), percentile(writeAll, 0.99), errors.get());
+        }
+        
+        private static long[] merge(long[][] logs, int[] counts) {
+            int total = Arrays.stream(counts).sum();
+            long[] merged = new long[total];
+            int offset = 0;
+            for (int i = 0; i < logs.length; i++) {
+                System.arraycopy(logs[i], 0, merged, offset, counts[i]);
+                offset += counts[i];
+            }
+            Arrays.sort(merged);
+            return merged;
+        }
+        
+        /**
+         * Nearest-rank percentile in milliseconds of a sorted nanosecond log
+         */
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.min(Math.max(rank, 1), sorted.length) - 1] / 1e6;
+        }
+    }
+}
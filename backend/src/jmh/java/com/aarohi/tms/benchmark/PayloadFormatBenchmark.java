@@ -0,0 +1,85 @@
+package com.aarohi.tms.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aarohi.tms.config.JacksonConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JSON vs CBOR for the main list endpoint payloads
+ *
+ * Measures encode time on the server and decode time on the client, and prints the
+ * raw and gzipped size of each payload once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+    
+    /**
+     * Response body of GET /complaints, /complaints/summary and /expenses
+     */
+    @Param({"complaints", "summaries", "expenses"})
+    public String payload;
+    
+    @Param({"json", "cbor"})
+    public String format;
+    
+    @Param({"100", "1000"})
+    public int size;
+    
+    private ObjectMapper mapper;
+    private List<?> rows;
+    private byte[] encoded;
+    
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "cbor".equals(format) ? JacksonConfig.cborMapper() : new JacksonConfig().objectMapper();
+        rows = switch (payload) {
+            case "summaries" -> BenchmarkSupport.complaintSummaries(size);
+            case "expenses" -> BenchmarkSupport.expenses(size);
+            default -> BenchmarkSupport.complaints(size);
+        };
+        encoded = mapper.writeValueAsBytes(rows);
+        System.out.printf("%n%s %s x%d: %d bytes, %d bytes gzipped%n",
+                payload, format, size, encoded.length, gzippedLength(encoded));
+    }
+    
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(rows);
+    }
+    
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        return mapper.readTree(encoded);
+    }
+    
+    private static int gzippedLength(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.aarohi.tms.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aarohi.tms.config.JacksonConfig;
+import com.aarohi.tms.entity.Complaint;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JSON serialization of complaint lists with the application ObjectMapper
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    
+    @Param({"1000", "10000"})
+    public int size;
+    
+    private ObjectMapper objectMapper;
+    private List<Complaint> complaints;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        complaints = BenchmarkSupport.complaints(size);
+    }
+    
+    @Benchmark
+    public byte[] serializeComplaints() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(complaints);
+    }
+}
@@ -0,0 +1,97 @@
+package com.aarohi.tms.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.aarohi.tms.entity.StaffExpense;
+import com.aarohi.tms.service.StaffExpenseService;
+
+/**
+ * Staff expense inserts, one request per expense against one batch request
+ *
+ * Scores are rows per second. dbLatencyMs delays every JDBC statement and commit to
+ * stand in for the round trip to MySQL, which is what batching saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx4g"})
+public class StaffExpenseBatchBenchmark {
+    
+    private static final int BATCH = 20;
+    
+    @Param({"1000"})
+    public int rows;
+    
+    @Param({"0", "1"})
+    public long dbLatencyMs;
+    
+    private ConfigurableApplicationContext context;
+    private StaffExpenseService staffExpenseService;
+    private Long staffUserId;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication(dbLatencyMs);
+        BenchmarkSupport.seed(context, rows);
+        BenchmarkSupport.rebuildIndexes(context);
+        staffExpenseService = context.getBean(StaffExpenseService.class);
+        staffUserId = context.getBean(JdbcTemplate.class)
+                .queryForObject("SELECT MIN(id) FROM users WHERE role = 'STAFF'", Long.class);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void oneByOne(Blackhole blackhole) {
+        for (StaffExpense expense : newExpenses()) {
+            blackhole.consume(staffExpenseService.createStaffExpense(staffUserId, expense));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<StaffExpense> batch() {
+        return staffExpenseService.createStaffExpenses(staffUserId, newExpenses());
+    }
+    
+    private static List<StaffExpense> newExpenses() {
+        LocalDateTime now = LocalDateTime.now();
+        List<StaffExpense> expenses = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            StaffExpense expense = new StaffExpense();
+            expense.setAmount(BigDecimal.valueOf(100 + i));
+            expense.setReason("Benchmark expense " + i);
+            expense.setExpenseDate(now);
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+}
@@ -2,12 +2,14 @@ package com.aarohi.tms;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for Task Management System
  * This class serves as the entry point for the Spring Boot application
  */
 @SpringBootApplication
+@EnableScheduling
 public class TaskManagementSystemApplication {
 
     public static void main(String[] args) {
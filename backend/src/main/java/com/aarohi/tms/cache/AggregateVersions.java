@@ -0,0 +1,47 @@
+package com.aarohi.tms.cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aarohi.tms.event.Aggregate;
+import com.aarohi.tms.event.DomainChangeEvent;
+
+/**
+ * Change counters per aggregate, bumped after every committed domain change
+ *
+ * Counters start from the boot time so ETags issued by a previous run never match.
+ * They are held in memory, which is correct for a single application instance.
+ */
+@Component
+public class AggregateVersions {
+    
+    private final Map<Aggregate, AtomicLong> versions = new EnumMap<>(Aggregate.class);
+    
+    public AggregateVersions() {
+        long epoch = System.currentTimeMillis();
+        for (Aggregate aggregate : Aggregate.values()) {
+            versions.put(aggregate, new AtomicLong(epoch));
+        }
+    }
+    
+    /**
+     * Bump the versions of all aggregates touched by a committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainChange(DomainChangeEvent event) {
+        for (Aggregate aggregate : event.getAffectedAggregates()) {
+            versions.get(aggregate).incrementAndGet();
+        }
+    }
+    
+    /**
+     * Current version of an aggregate
+     */
+    public long getVersion(Aggregate aggregate) {
+        return versions.get(aggregate).get();
+    }
+}
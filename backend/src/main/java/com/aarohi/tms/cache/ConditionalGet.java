@@ -0,0 +1,28 @@
+package com.aarohi.tms.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.aarohi.tms.event.Aggregate;
+
+/**
+ * Opt a GET endpoint into conditional requests
+ *
+ * Successful responses get an ETag derived from the versions of the listed aggregates,
+ * the request URI and the caller. A matching If-None-Match is answered with 304 once
+ * @PreAuthorize has passed, before the handler body runs. List every aggregate the
+ * response reads from.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalGet {
+    
+    /**
+     * Aggregates the response depends on
+     */
+    Aggregate[] value();
+}
@@ -0,0 +1,146 @@
+package com.aarohi.tms.cache;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.aarohi.tms.event.Aggregate;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Answers conditional GETs for @ConditionalGet endpoints
+ *
+ * The ETag hashes the aggregate versions, the request URI and query, the Accept header,
+ * the caller and its authorities (so a role change never reuses a response), and the
+ * current date (so "today"/"recent" windows roll over). On a match the handler body is
+ * skipped with 304, saving the query and serialization.
+ *
+ * Runs as a method interceptor right after @PreAuthorize, so a caller is never told 304
+ * for a resource it may not see. Only successful responses get an ETag, so a tag can only
+ * match a resource the caller was already served; "*" is never matched here, since it is
+ * only meaningful once the handler has resolved the resource.
+ */
+@Component
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+public class ConditionalGetInterceptor extends StaticMethodMatcherPointcutAdvisor implements MethodInterceptor {
+    
+    @Autowired
+    @Lazy
+    private AggregateVersions aggregateVersions;
+    
+    public ConditionalGetInterceptor() {
+        setAdvice(this);
+        setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder() + 1);
+    }
+    
+    @Override
+    public boolean matches(@NonNull Method method, @NonNull Class<?> targetClass) {
+        return AnnotatedElementUtils.hasAnnotation(method, ConditionalGet.class);
+    }
+    
+    @Override
+    public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || !"GET".equals(attributes.getRequest().getMethod()) || attributes.getResponse() == null) {
+            return invocation.proceed();
+        }
+        HttpServletRequest request = attributes.getRequest();
+        HttpServletResponse response = attributes.getResponse();
+        ConditionalGet conditionalGet = AnnotatedElementUtils.findMergedAnnotation(invocation.getMethod(), ConditionalGet.class);
+        
+        // Computed before the handler reads, so a concurrent change can only make the tag older
+        String etag = computeEtag(request, conditionalGet.value());
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            setValidators(response, etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        
+        Object result = invocation.proceed();
+        if (result instanceof ResponseEntity<?> entity && entity.getStatusCode().is2xxSuccessful()) {
+            setValidators(response, etag);
+        }
+        return result;
+    }
+    
+    private void setValidators(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+    }
+    
+    private String computeEtag(HttpServletRequest request, Aggregate[] aggregates) {
+        StringBuilder key = new StringBuilder();
+        for (Aggregate aggregate : aggregates) {
+            key.append(aggregate.name()).append('=').append(aggregateVersions.getVersion(aggregate)).append(';');
+        }
+        key.append('|').append(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            key.append('?').append(request.getQueryString());
+        }
+        key.append('|').append(request.getHeader(HttpHeaders.ACCEPT));
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            key.append('|').append(authentication.getName());
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                key.append(',').append(authority.getAuthority());
+            }
+        }
+        key.append('|').append(LocalDate.now());
+        
+        return "W/\"" + sha256(key.toString()) + "\"";
+    }
+    
+    /**
+     * Weak comparison against the tags listed in an If-None-Match header
+     */
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
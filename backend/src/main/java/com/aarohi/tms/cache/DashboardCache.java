@@ -0,0 +1,55 @@
+package com.aarohi.tms.cache;
+
+import java.util.Set;
+
+import com.aarohi.tms.event.Aggregate;
+
+/**
+ * Application caches for the admin dashboard reads and the aggregates each one depends on
+ * A committed change to any of those aggregates clears the cache.
+ */
+public enum DashboardCache {
+    HIGH_PRIORITY_COMPLAINTS(Names.HIGH_PRIORITY_COMPLAINTS, Aggregate.COMPLAINTS, Aggregate.USERS),
+    RECENT_COMPLAINTS(Names.RECENT_COMPLAINTS, Aggregate.COMPLAINTS, Aggregate.USERS),
+    USER_STATS(Names.USER_STATS, Aggregate.USERS),
+    ACTIVE_STAFF(Names.ACTIVE_STAFF, Aggregate.USERS),
+    EXPENSE_STATS(Names.EXPENSE_STATS, Aggregate.EXPENSES);
+    
+    /**
+     * Cache names as constants for @Cacheable
+     */
+    public static final class Names {
+        public static final String HIGH_PRIORITY_COMPLAINTS = "highPriorityComplaints";
+        public static final String RECENT_COMPLAINTS = "recentComplaints";
+        public static final String USER_STATS = "userStats";
+        public static final String ACTIVE_STAFF = "activeStaff";
+        public static final String EXPENSE_STATS = "expenseStats";
+        
+        private Names() {}
+    }
+    
+    private final String cacheName;
+    private final Set<Aggregate> dependencies;
+    
+    DashboardCache(String cacheName, Aggregate... dependencies) {
+        this.cacheName = cacheName;
+        this.dependencies = Set.of(dependencies);
+    }
+    
+    public String getCacheName() {
+        return cacheName;
+    }
+    
+    public Set<Aggregate> getDependencies() {
+        return dependencies;
+    }
+    
+    public static DashboardCache forName(String cacheName) {
+        for (DashboardCache cache : values()) {
+            if (cache.cacheName.equals(cacheName)) {
+                return cache;
+            }
+        }
+        throw new IllegalArgumentException("Unknown dashboard cache: " + cacheName);
+    }
+}
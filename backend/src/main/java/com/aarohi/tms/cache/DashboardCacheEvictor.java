@@ -0,0 +1,34 @@
+package com.aarohi.tms.cache;
+
+import java.util.Collections;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aarohi.tms.event.DomainChangeEvent;
+
+/**
+ * Clears dashboard caches when an aggregate they depend on changes
+ * Runs after commit, so the next read always loads committed data
+ */
+@Component
+public class DashboardCacheEvictor {
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainChange(DomainChangeEvent event) {
+        for (DashboardCache dashboardCache : DashboardCache.values()) {
+            if (!Collections.disjoint(dashboardCache.getDependencies(), event.getAffectedAggregates())) {
+                Cache cache = cacheManager.getCache(dashboardCache.getCacheName());
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        }
+    }
+}
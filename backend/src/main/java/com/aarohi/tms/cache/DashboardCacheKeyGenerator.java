@@ -0,0 +1,50 @@
+package com.aarohi.tms.cache;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import com.aarohi.tms.event.Aggregate;
+
+/**
+ * Keys dashboard cache entries by the versions of the aggregates they depend on
+ *
+ * Eviction alone races with reads: a read that loaded rows before a write committed
+ * could store them after the eviction. With the versions in the key such an entry is
+ * filed under the old version and never read again. The current date is part of the
+ * key as well, so date windows such as "last 30 days" roll over at midnight.
+ */
+@Component
+public class DashboardCacheKeyGenerator implements KeyGenerator {
+    
+    @Autowired
+    private AggregateVersions aggregateVersions;
+    
+    @Override
+    @NonNull
+    public Object generate(@NonNull Object target, @NonNull Method method, @NonNull Object... params) {
+        Cacheable cacheable = AnnotatedElementUtils.findMergedAnnotation(method, Cacheable.class);
+        if (cacheable == null || cacheable.cacheNames().length != 1) {
+            throw new IllegalStateException("Dashboard cache key requires a single @Cacheable cache name: " + method);
+        }
+        DashboardCache cache = DashboardCache.forName(cacheable.cacheNames()[0]);
+        
+        List<Object> key = new ArrayList<>();
+        for (Aggregate aggregate : cache.getDependencies()) {
+            key.add(aggregate);
+            key.add(aggregateVersions.getVersion(aggregate));
+        }
+        key.add(LocalDate.now());
+        key.addAll(Arrays.asList(params));
+        return key;
+    }
+}
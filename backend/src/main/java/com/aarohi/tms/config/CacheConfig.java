@@ -0,0 +1,32 @@
+package com.aarohi.tms.config;
+
+import java.util.Arrays;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.aarohi.tms.cache.DashboardCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Spring Cache configuration for the dashboard read caches
+ * Entries have no TTL; they are cleared by committed domain events (DashboardCacheEvictor)
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the declared caches exist; a typo in @Cacheable fails instead of silently creating one
+        cacheManager.setCacheNames(Arrays.stream(DashboardCache.values()).map(DashboardCache::getCacheName).toList());
+        // Each cache holds one current entry plus any not yet cleared
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(16));
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
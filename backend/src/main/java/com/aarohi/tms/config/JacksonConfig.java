@@ -8,6 +8,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
@@ -23,6 +24,27 @@ public class JacksonConfig {
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         
+        mapper.registerModule(javaTimeModule());
+        
+        return mapper;
+    }
+    
+    /**
+     * Mapper for application/cbor responses
+     * Same date/time handling as the JSON mapper; not a bean so JSON stays the injected default
+     */
+    public static CBORMapper cborMapper() {
+        CBORMapper mapper = new CBORMapper();
+        
+        mapper.registerModule(javaTimeModule());
+        
+        return mapper;
+    }
+    
+    /**
+     * Date/time module shared by the JSON and CBOR mappers
+     */
+    private static JavaTimeModule javaTimeModule() {
         JavaTimeModule javaTimeModule = new JavaTimeModule();
         
         // Custom LocalDateTime deserializer to handle ISO strings
@@ -31,9 +53,7 @@ public class JacksonConfig {
         // Custom LocalDateTime serializer
         javaTimeModule.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         
-        mapper.registerModule(javaTimeModule);
-        
-        return mapper;
+        return javaTimeModule;
     }
     
     /**
@@ -0,0 +1,59 @@
+package com.aarohi.tms.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Logs the request execution mode at startup (platform or virtual threads) with the pool size
+ * Spring silently ignores spring.threads.virtual.enabled below Java 21, so that case gets a warning
+ */
+@Component
+public class ThreadingModeReporter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingModeReporter.class);
+    
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int javaVersion = Runtime.version().feature();
+        boolean virtual = virtualThreadsRequested && javaVersion >= VIRTUAL_THREADS_JAVA_VERSION;
+        if (virtualThreadsRequested && !virtual) {
+            logger.warn("Virtual threads requested but running on Java {}, falling back to platform threads "
+                    + "(build and run with Java {}, mvn -Pjava21)", javaVersion, VIRTUAL_THREADS_JAVA_VERSION);
+        }
+        logger.info("Request execution: {} threads on Java {}, connection pool max {}",
+                virtual ? "virtual" : "platform", javaVersion, maximumPoolSize());
+    }
+    
+    /**
+     * Pool size through unwrap, so wrapping proxies around the pool don't hide it
+     */
+    private String maximumPoolSize() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return String.valueOf(dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+            }
+        } catch (SQLException e) {
+            logger.debug("Could not read connection pool size", e);
+        }
+        return "n/a";
+    }
+}
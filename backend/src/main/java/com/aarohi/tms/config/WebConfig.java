@@ -1,15 +1,21 @@
 package com.aarohi.tms.config;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.CacheControl;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.aarohi.tms.cache.ConditionalGet;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -18,13 +24,13 @@ import jakarta.servlet.http.HttpServletResponse;
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
-
+    
     // CORS configuration is handled in WebSecurityConfig.java to avoid conflicts
     // @Override
     // public void addCorsMappings(@NonNull CorsRegistry registry) {
     //     // Configuration moved to WebSecurityConfig.java
     // }
-
+    
     @Override
     public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
         // Configure static resources with proper caching
@@ -32,29 +38,51 @@ public class WebConfig implements WebMvcConfigurer {
                 .addResourceLocations("classpath:/static/")
                 .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic());
     }
-
+    
+    /**
+     * Serve application/cbor to clients that ask for it in the Accept header
+     * Spring MVC already registers a CBOR converter (after the JSON one, so JSON stays the
+     * default for wildcard Accept headers) with a default mapper; its mapper is swapped for
+     * ours in place so dates encode as they do in JSON
+     */
+    @Override
+    public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
+        boolean replaced = false;
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2CborHttpMessageConverter cborConverter) {
+                cborConverter.setObjectMapper(JacksonConfig.cborMapper());
+                replaced = true;
+            }
+        }
+        if (!replaced) {
+            converters.add(new MappingJackson2CborHttpMessageConverter(JacksonConfig.cborMapper()));
+        }
+    }
+    
     @Override
     public void addInterceptors(@NonNull InterceptorRegistry registry) {
         // Add interceptor to prevent API response caching
         registry.addInterceptor(new ApiCacheControlInterceptor())
                 .addPathPatterns("/auth/**", "/users/**", "/complaints/**", "/expenses/**");
     }
-
+    
     /**
      * Interceptor to add cache control headers to API responses
+     * Endpoints with @ConditionalGet are revalidated with ETags instead
      */
     public static class ApiCacheControlInterceptor implements HandlerInterceptor {
         
         @Override
         public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+            if (handler instanceof HandlerMethod handlerMethod && handlerMethod.hasMethodAnnotation(ConditionalGet.class)) {
+                return true;
+            }
+            
             // Prevent caching of API responses
             response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
             response.setHeader("Pragma", "no-cache");
             response.setHeader("Expires", "0");
             
-            // Add ETag header to help with proper cache validation
-            response.setHeader("ETag", String.valueOf(System.currentTimeMillis()));
-            
             return true;
         }
     }
@@ -0,0 +1,35 @@
+package com.aarohi.tms.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.aarohi.tms.dto.CacheRegionStats;
+import com.aarohi.tms.service.CacheStatisticsService;
+
+/**
+ * REST Controller exposing second-level cache metrics
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/cache")
+public class CacheStatsController {
+    
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+    
+    /**
+     * Per-region hit/miss counters of the Hibernate second-level cache (Admin only)
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheRegionStats>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStats());
+    }
+}
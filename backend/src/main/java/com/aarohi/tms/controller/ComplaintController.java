@@ -1,9 +1,14 @@
 package com.aarohi.tms.controller;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -17,14 +22,29 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.aarohi.tms.cache.ConditionalGet;
+import com.aarohi.tms.dto.BulkAssignRequest;
+import com.aarohi.tms.dto.BulkAssignResult;
+import com.aarohi.tms.dto.ComplaintChangeSet;
+import com.aarohi.tms.dto.ComplaintSummary;
+import com.aarohi.tms.dto.CursorPage;
 import com.aarohi.tms.dto.MessageResponse;
+import com.aarohi.tms.dto.StaffScheduleSummary;
+import com.aarohi.tms.dto.StreamTicketResponse;
 import com.aarohi.tms.entity.Complaint;
 import com.aarohi.tms.entity.ComplaintType;
 import com.aarohi.tms.entity.Priority;
 import com.aarohi.tms.entity.Status;
+import com.aarohi.tms.event.Aggregate;
+import com.aarohi.tms.security.StreamTicketRegistry;
 import com.aarohi.tms.security.UserPrincipal;
+import com.aarohi.tms.service.ComplaintExportService.ExportFormat;
+import com.aarohi.tms.service.ComplaintExportService;
 import com.aarohi.tms.service.ComplaintService;
+import com.aarohi.tms.stream.ComplaintStreamHub;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -41,20 +61,131 @@ public class ComplaintController {
     @Autowired
     private ComplaintService complaintService;
     
+    @Autowired
+    private ComplaintExportService complaintExportService;
+    
+    @Autowired
+    private ComplaintStreamHub complaintStreamHub;
+    
+    @Autowired
+    private StreamTicketRegistry streamTicketRegistry;
+    
     /**
      * Get all complaints (Admin only)
      */
     @GetMapping
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Complaint>> getAllComplaints() {
         List<Complaint> complaints = complaintService.getAllComplaints();
         return ResponseEntity.ok(complaints);
     }
     
+    /**
+     * Get summaries of all complaints for list screens (Admin only)
+     */
+    @GetMapping("/summary")
+    @ConditionalGet({Aggregate.COMPLAINTS, Aggregate.USERS})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ComplaintSummary>> getAllComplaintSummaries() {
+        List<ComplaintSummary> complaints = complaintService.getAllComplaintSummaries();
+        return ResponseEntity.ok(complaints);
+    }
+    
+    /**
+     * Export all complaints as NDJSON or CSV (Admin only)
+     * Rows are streamed to the client as they are read instead of being collected first
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportComplaints(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = outputStream -> complaintExportService.exportComplaints(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"complaints." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+    
+    /**
+     * Get complaints with cursor (keyset) pagination ordered by created date (Admin only)
+     */
+    @GetMapping("/cursor")
+    @ConditionalGet(Aggregate.COMPLAINTS)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getComplaintsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "desc") String direction) {
+        try {
+            CursorPage<Complaint> page = complaintService.getComplaintsByCursor(
+                    cursor, size, "asc".equalsIgnoreCase(direction));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Get complaints changed since the client's last sync, plus tombstones for removed ones
+     * Admins sync every complaint, staff only their assigned complaints. Omit since for a full sync.
+     */
+    @GetMapping("/changes")
+    @ConditionalGet(Aggregate.COMPLAINTS)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    public ResponseEntity<?> getComplaintChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        boolean isAdmin = userPrincipal.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
+        try {
+            LocalDateTime sinceDatetime = since != null && !since.isEmpty() ? LocalDateTime.parse(since) : null;
+            ComplaintChangeSet changes = complaintService.getComplaintChanges(
+                    sinceDatetime, cursor, size, isAdmin ? null : userPrincipal.getId());
+            return ResponseEntity.ok(changes);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Get complaints by page number (Admin only)
+     */
+    @GetMapping("/page")
+    @ConditionalGet(Aggregate.COMPLAINTS)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getComplaintsPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction) {
+        try {
+            Page<Complaint> complaints = complaintService.getComplaintsPage(
+                    page, size, sortBy, "asc".equalsIgnoreCase(direction));
+            return ResponseEntity.ok(complaints);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Get complaint by ID
      */
     @GetMapping("/{id}")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN') or @complaintService.canUserAccessComplaint(#id, authentication.principal.id)")
     public ResponseEntity<?> getComplaintById(@PathVariable Long id) {
         return complaintService.getComplaintById(id)
@@ -144,6 +275,22 @@ public class ComplaintController {
         }
     }
     
+    /**
+     * Assign many complaints to staff with optional schedule dates (Admin only)
+     * Returns one result per item; invalid items do not stop the others
+     */
+    @PostMapping("/bulk-assign")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> bulkAssignComplaints(@RequestBody List<BulkAssignRequest> requests) {
+        try {
+            List<BulkAssignResult> results = complaintService.bulkAssignComplaints(requests);
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Update schedule date for a complaint (Admin only)
      */
@@ -184,16 +331,29 @@ public class ComplaintController {
      * Get complaints by status
      */
     @GetMapping("/status/{status}")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Complaint>> getComplaintsByStatus(@PathVariable Status status) {
         List<Complaint> complaints = complaintService.getComplaintsByStatus(status);
         return ResponseEntity.ok(complaints);
     }
     
+    /**
+     * Get complaint summaries by status
+     */
+    @GetMapping("/status/{status}/summary")
+    @ConditionalGet({Aggregate.COMPLAINTS, Aggregate.USERS})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ComplaintSummary>> getComplaintSummariesByStatus(@PathVariable Status status) {
+        List<ComplaintSummary> complaints = complaintService.getComplaintSummariesByStatus(status);
+        return ResponseEntity.ok(complaints);
+    }
+    
     /**
      * Get complaints by priority
      */
     @GetMapping("/priority/{priority}")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Complaint>> getComplaintsByPriority(@PathVariable Priority priority) {
         List<Complaint> complaints = complaintService.getComplaintsByPriority(priority);
@@ -204,6 +364,7 @@ public class ComplaintController {
      * Get complaints assigned to current staff member
      */
     @GetMapping("/my-assignments")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('STAFF')")
     public ResponseEntity<List<Complaint>> getMyAssignedComplaints(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -211,10 +372,57 @@ public class ComplaintController {
         return ResponseEntity.ok(complaints);
     }
     
+    /**
+     * Live stream of complaint changes as Server-Sent Events
+     * Admins receive every change, staff only changes to complaints assigned to them.
+     * EventSource cannot set headers, so this endpoint also accepts a ?ticket= from /stream/ticket
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    public ResponseEntity<SseEmitter> streamComplaintChanges(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        boolean isAdmin = userPrincipal.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
+        try {
+            return ResponseEntity.ok(complaintStreamHub.subscribe(isAdmin ? null : userPrincipal.getId()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    /**
+     * Issue a single-use ticket for opening the complaint stream
+     * Keeps the long-lived JWT out of the stream URL and so out of access logs and browser history
+     */
+    @PostMapping("/stream/ticket")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    public ResponseEntity<?> issueStreamTicket(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        try {
+            String ticket = streamTicketRegistry.issue(userPrincipal);
+            return ResponseEntity.ok(new StreamTicketResponse(ticket, streamTicketRegistry.getTicketTtlSeconds()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    /**
+     * Get summaries of complaints assigned to current staff member
+     */
+    @GetMapping("/my-assignments/summary")
+    @ConditionalGet({Aggregate.COMPLAINTS, Aggregate.USERS})
+    @PreAuthorize("hasRole('STAFF')")
+    public ResponseEntity<List<ComplaintSummary>> getMyAssignedComplaintSummaries(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        List<ComplaintSummary> complaints = complaintService.getComplaintSummariesByAssignedStaff(userPrincipal.getId());
+        return ResponseEntity.ok(complaints);
+    }
+    
     /**
      * Get complaints by assigned staff (Admin only)
      */
     @GetMapping("/staff/{staffId}")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Complaint>> getComplaintsByAssignedStaff(@PathVariable Long staffId) {
         List<Complaint> complaints = complaintService.getComplaintsByAssignedStaff(staffId);
@@ -225,6 +433,7 @@ public class ComplaintController {
      * Get complaints by mobile number
      */
     @GetMapping("/mobile/{mobileNumber}")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Complaint>> getComplaintsByMobileNumber(@PathVariable String mobileNumber) {
         List<Complaint> complaints = complaintService.getComplaintsByMobileNumber(mobileNumber);
@@ -233,19 +442,22 @@ public class ComplaintController {
     
     /**
      * Search complaints with filters (Admin only)
+     * keyword matches customer name, mobile number, city or machine model
      */
     @GetMapping("/search")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Complaint>> searchComplaints(
             @RequestParam(required = false) String customerName,
             @RequestParam(required = false) String mobileNumber,
+            @RequestParam(required = false) String keyword,
             @RequestParam(required = false) Status status,
             @RequestParam(required = false) Priority priority,
             @RequestParam(required = false) ComplaintType complaintType,
             @RequestParam(required = false) Long assignedStaffId) {
         
         List<Complaint> complaints = complaintService.searchComplaints(
-                customerName, mobileNumber, status, priority, complaintType, assignedStaffId);
+                customerName, mobileNumber, keyword, status, priority, complaintType, assignedStaffId);
         return ResponseEntity.ok(complaints);
     }
     
@@ -253,16 +465,29 @@ public class ComplaintController {
      * Get recent complaints (Admin only)
      */
     @GetMapping("/recent")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Complaint>> getRecentComplaints() {
         List<Complaint> complaints = complaintService.getRecentComplaints();
         return ResponseEntity.ok(complaints);
     }
     
+    /**
+     * Get summaries of recent complaints (Admin only)
+     */
+    @GetMapping("/recent/summary")
+    @ConditionalGet({Aggregate.COMPLAINTS, Aggregate.USERS})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ComplaintSummary>> getRecentComplaintSummaries() {
+        List<ComplaintSummary> complaints = complaintService.getRecentComplaintSummaries();
+        return ResponseEntity.ok(complaints);
+    }
+    
     /**
      * Get high priority open complaints (Admin only)
      */
     @GetMapping("/high-priority")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Complaint>> getHighPriorityOpenComplaints() {
         List<Complaint> complaints = complaintService.getHighPriorityOpenComplaints();
@@ -273,6 +498,7 @@ public class ComplaintController {
      * Get complaints by schedule date range (Admin only)
      */
     @GetMapping("/schedule/date-range")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Complaint>> getComplaintsByScheduleDateRange(
             @RequestParam String startDate,
@@ -298,6 +524,7 @@ public class ComplaintController {
      * Get today's scheduled complaints (Admin only)
      */
     @GetMapping("/schedule/today")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Complaint>> getTodaysScheduledComplaints() {
         List<Complaint> complaints = complaintService.getTodaysScheduledComplaints();
@@ -308,6 +535,7 @@ public class ComplaintController {
      * Get this week's scheduled complaints (Admin only)
      */
     @GetMapping("/schedule/week")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Complaint>> getWeeklyScheduledComplaints() {
         List<Complaint> complaints = complaintService.getWeeklyScheduledComplaints();
@@ -318,6 +546,7 @@ public class ComplaintController {
      * Get staff schedule summary for a date range (Admin only)
      */
     @GetMapping("/schedule/staff-summary")
+    @ConditionalGet({Aggregate.COMPLAINTS, Aggregate.USERS})
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getStaffScheduleSummary(
             @RequestParam String startDate,
@@ -325,7 +554,7 @@ public class ComplaintController {
         try {
             LocalDateTime start = LocalDateTime.parse(startDate);
             LocalDateTime end = LocalDateTime.parse(endDate);
-            Object summary = complaintService.getStaffScheduleSummary(start, end);
+            List<StaffScheduleSummary> summary = complaintService.getStaffScheduleSummary(start, end);
             return ResponseEntity.ok(summary);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -337,6 +566,7 @@ public class ComplaintController {
      * Get complaint statistics (Admin only)
      */
     @GetMapping("/stats")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ComplaintService.ComplaintStats> getComplaintStats() {
         ComplaintService.ComplaintStats stats = complaintService.getComplaintStats();
@@ -350,8 +580,7 @@ public class ComplaintController {
     public ResponseEntity<?> createPublicComplaint(@Valid @RequestBody Complaint complaint) {
         try {
             // Check if customer already has an active complaint
-            List<Complaint> existingComplaints = complaintService.getComplaintsByMobileAndActiveStatus(complaint.getMobileNumber());
-            if (!existingComplaints.isEmpty()) {
+            if (complaintService.hasActiveComplaint(complaint.getMobileNumber())) {
                 return ResponseEntity.badRequest()
                         .body(new MessageResponse("You already have an active complaint. Please wait for it to be resolved before submitting a new one."));
             }
@@ -390,6 +619,7 @@ public class ComplaintController {
      * Get staff schedule for a specific date (Admin only)
      */
     @GetMapping("/staff/{staffId}/schedule")
+    @ConditionalGet(Aggregate.COMPLAINTS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Complaint>> getStaffScheduleForDate(@PathVariable Long staffId, 
                                                                   @RequestParam String date) {
@@ -405,6 +635,7 @@ public class ComplaintController {
      * Get all staff schedules for a date range (Admin only)
      */
     @GetMapping("/schedules")
+    @ConditionalGet({Aggregate.COMPLAINTS, Aggregate.USERS})
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getAllStaffSchedules(@RequestParam String startDate, 
                                                  @RequestParam String endDate) {
@@ -420,6 +651,7 @@ public class ComplaintController {
      * Get weekly schedule summary (Admin only)
      */
     @GetMapping("/schedules/weekly")
+    @ConditionalGet({Aggregate.COMPLAINTS, Aggregate.USERS})
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getWeeklyScheduleSummary(@RequestParam String startDate) {
         try {
@@ -0,0 +1,34 @@
+package com.aarohi.tms.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.aarohi.tms.datasource.ReplicaLagMonitor;
+import com.aarohi.tms.dto.ReplicaStatus;
+
+/**
+ * REST Controller exposing read replica routing state
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/datasource")
+public class DataSourceStatusController {
+    
+    // Only present when app.datasource.replica.jdbc-url is set
+    @Autowired(required = false)
+    private ReplicaLagMonitor replicaLagMonitor;
+    
+    /**
+     * Replica health, last measured lag and how many connections went where (Admin only)
+     */
+    @GetMapping("/replica")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReplicaStatus> getReplicaStatus() {
+        return ResponseEntity.ok(replicaLagMonitor != null ? replicaLagMonitor.getStatus() : ReplicaStatus.notConfigured());
+    }
+}
@@ -1,6 +1,7 @@
 package com.aarohi.tms.controller;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -19,8 +20,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.aarohi.tms.cache.ConditionalGet;
+import com.aarohi.tms.dto.ExpenseAnalytics;
+import com.aarohi.tms.dto.ExpenseAnalytics.Bucket;
 import com.aarohi.tms.dto.MessageResponse;
 import com.aarohi.tms.entity.Expense;
+import com.aarohi.tms.entity.ExpenseDailyRollup.Dimension;
+import com.aarohi.tms.event.Aggregate;
 import com.aarohi.tms.security.UserPrincipal;
 import com.aarohi.tms.service.ExpenseService;
 
@@ -41,6 +47,7 @@ public class ExpenseController {
      * Get all expenses (Admin only)
      */
     @GetMapping
+    @ConditionalGet(Aggregate.EXPENSES)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Expense>> getAllExpenses() {
         List<Expense> expenses = expenseService.getAllExpenses();
@@ -51,6 +58,7 @@ public class ExpenseController {
      * Get expense by ID
      */
     @GetMapping("/{id}")
+    @ConditionalGet(Aggregate.EXPENSES)
     @PreAuthorize("hasRole('ADMIN') or @expenseService.getExpenseById(#id).get().addedBy.id == authentication.principal.id")
     public ResponseEntity<?> getExpenseById(@PathVariable Long id) {
         return expenseService.getExpenseById(id)
@@ -111,6 +119,7 @@ public class ExpenseController {
      * Get expenses by complaint ID
      */
     @GetMapping("/complaint/{complaintId}")
+    @ConditionalGet(Aggregate.EXPENSES)
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
     public ResponseEntity<List<Expense>> getExpensesByComplaintId(@PathVariable Long complaintId) {
         List<Expense> expenses = expenseService.getExpensesByComplaintId(complaintId);
@@ -121,6 +130,7 @@ public class ExpenseController {
      * Get expenses added by current user
      */
     @GetMapping("/my-expenses")
+    @ConditionalGet(Aggregate.EXPENSES)
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
     public ResponseEntity<List<Expense>> getMyExpenses(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -132,6 +142,7 @@ public class ExpenseController {
      * Get expenses by user ID (Admin only)
      */
     @GetMapping("/user/{userId}")
+    @ConditionalGet({Aggregate.EXPENSES, Aggregate.USERS})
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Expense>> getExpensesByUserId(@PathVariable Long userId) {
         List<Expense> expenses = expenseService.getExpensesByUser(userId);
@@ -142,6 +153,7 @@ public class ExpenseController {
      * Get total expenses for a complaint
      */
     @GetMapping("/total/complaint/{complaintId}")
+    @ConditionalGet(Aggregate.EXPENSES)
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
     public ResponseEntity<BigDecimal> getTotalExpensesByComplaintId(@PathVariable Long complaintId) {
         BigDecimal totalExpenses = expenseService.getTotalExpensesByComplaintId(complaintId);
@@ -152,6 +164,7 @@ public class ExpenseController {
      * Get total expenses added by a user (Admin only)
      */
     @GetMapping("/total/user/{userId}")
+    @ConditionalGet(Aggregate.EXPENSES)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<BigDecimal> getTotalExpensesByUserId(@PathVariable Long userId) {
         BigDecimal totalExpenses = expenseService.getTotalExpensesByUserId(userId);
@@ -162,6 +175,7 @@ public class ExpenseController {
      * Get recent expenses (Admin only)
      */
     @GetMapping("/recent")
+    @ConditionalGet(Aggregate.EXPENSES)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Expense>> getRecentExpenses() {
         List<Expense> expenses = expenseService.getRecentExpenses();
@@ -172,6 +186,7 @@ public class ExpenseController {
      * Search expenses by description
      */
     @GetMapping("/search")
+    @ConditionalGet(Aggregate.EXPENSES)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Expense>> searchExpensesByDescription(@RequestParam String description) {
         List<Expense> expenses = expenseService.searchExpensesByDescription(description);
@@ -182,6 +197,7 @@ public class ExpenseController {
      * Get expenses by date range (Admin only)
      */
     @GetMapping("/date-range")
+    @ConditionalGet(Aggregate.EXPENSES)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Expense>> getExpensesByDateRange(
             @RequestParam String startDate,
@@ -200,6 +216,7 @@ public class ExpenseController {
      * Get expenses by amount range (Admin only)
      */
     @GetMapping("/amount-range")
+    @ConditionalGet(Aggregate.EXPENSES)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Expense>> getExpensesByAmountRange(
             @RequestParam BigDecimal minAmount,
@@ -212,9 +229,40 @@ public class ExpenseController {
      * Get expense statistics (Admin only)
      */
     @GetMapping("/stats")
+    @ConditionalGet(Aggregate.EXPENSES)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ExpenseService.ExpenseStats> getExpenseStats() {
         ExpenseService.ExpenseStats stats = expenseService.getExpenseStats();
         return ResponseEntity.ok(stats);
     }
+    
+    /**
+     * Get expense spend per DAY, WEEK or MONTH from the daily rollups (Admin only)
+     * groupBy is ALL, STAFF, VENDOR or COMPLAINT_TYPE; from and to are yyyy-MM-dd
+     */
+    @GetMapping("/analytics")
+    @ConditionalGet({Aggregate.EXPENSES, Aggregate.COMPLAINTS, Aggregate.USERS})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getExpenseAnalytics(@RequestParam(defaultValue = "DAY") String bucket,
+                                                 @RequestParam(defaultValue = "ALL") String groupBy,
+                                                 @RequestParam(required = false) String from,
+                                                 @RequestParam(required = false) String to) {
+        Bucket parsedBucket;
+        Dimension parsedGroupBy;
+        try {
+            parsedBucket = Bucket.valueOf(bucket.toUpperCase());
+            parsedGroupBy = Dimension.valueOf(groupBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Invalid bucket or groupBy: " + bucket + ", " + groupBy));
+        }
+        try {
+            ExpenseAnalytics analytics = expenseService.getExpenseAnalytics(parsedBucket, parsedGroupBy,
+                    from != null ? LocalDate.parse(from) : null, to != null ? LocalDate.parse(to) : null);
+            return ResponseEntity.ok(analytics);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error loading expense analytics: " + e.getMessage()));
+        }
+    }
 }
@@ -1,7 +1,9 @@
 package com.aarohi.tms.controller;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,10 +21,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.aarohi.tms.cache.ConditionalGet;
+import com.aarohi.tms.dto.ExpenseAnalytics;
+import com.aarohi.tms.dto.ExpenseAnalytics.Bucket;
 import com.aarohi.tms.dto.MessageResponse;
+import com.aarohi.tms.dto.StaffExpenseBalance;
 import com.aarohi.tms.dto.StaffExpenseRequestDTO;
+import com.aarohi.tms.entity.ExpenseDailyRollup.Dimension;
 import com.aarohi.tms.entity.ExpenseStatus;
 import com.aarohi.tms.entity.StaffExpense;
+import com.aarohi.tms.event.Aggregate;
 import com.aarohi.tms.security.UserPrincipal;
 import com.aarohi.tms.service.StaffExpenseService;
 
@@ -78,28 +86,56 @@ public class StaffExpenseController {
         try {
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
             
-            // Create StaffExpense entity from DTO
-            StaffExpense staffExpense = new StaffExpense();
-            staffExpense.setAmount(expenseRequest.getAmount());
-            staffExpense.setExpenseDate(expenseRequest.getParsedExpenseDate());
-            staffExpense.setReason(expenseRequest.getReason());
-            staffExpense.setComplaintNumber(expenseRequest.getComplaintNumber());
+            StaffExpense staffExpense;
+            try {
+                staffExpense = toStaffExpense(expenseRequest);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest()
+                        .body(new MessageResponse(e.getMessage()));
+            }
             
-            // Set status if provided, default to PENDING
-            if (expenseRequest.getStatus() != null && !expenseRequest.getStatus().isEmpty()) {
+            StaffExpense createdExpense = staffExpenseService.createStaffExpense(userPrincipal.getId(), staffExpense);
+            return ResponseEntity.ok(createdExpense);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error creating staff expense: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Create several staff expenses at once (e.g. a day's worth), all or nothing
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('STAFF') or hasRole('ADMIN')")
+    public ResponseEntity<?> createStaffExpenses(@RequestBody List<StaffExpenseRequestDTO> expenseRequests,
+                                                 Authentication authentication) {
+        try {
+            UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+            
+            List<StaffExpense> staffExpenses = new ArrayList<>(expenseRequests.size());
+            for (int i = 0; i < expenseRequests.size(); i++) {
+                StaffExpenseRequestDTO expenseRequest = expenseRequests.get(i);
+                if (expenseRequest.getAmount() == null || expenseRequest.getAmount().signum() <= 0) {
+                    return ResponseEntity.badRequest()
+                            .body(new MessageResponse("Expense " + (i + 1) + ": amount must be greater than 0"));
+                }
+                if (expenseRequest.getReason() == null || expenseRequest.getReason().isBlank()) {
+                    return ResponseEntity.badRequest()
+                            .body(new MessageResponse("Expense " + (i + 1) + ": reason is required"));
+                }
                 try {
-                    staffExpense.setStatus(ExpenseStatus.valueOf(expenseRequest.getStatus().toUpperCase()));
+                    staffExpenses.add(toStaffExpense(expenseRequest));
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.badRequest()
-                            .body(new MessageResponse("Invalid status: " + expenseRequest.getStatus()));
+                            .body(new MessageResponse("Expense " + (i + 1) + ": " + e.getMessage()));
                 }
             }
             
-            StaffExpense createdExpense = staffExpenseService.createStaffExpense(userPrincipal.getId(), staffExpense);
-            return ResponseEntity.ok(createdExpense);
+            List<StaffExpense> createdExpenses = staffExpenseService.createStaffExpenses(userPrincipal.getId(), staffExpenses);
+            return ResponseEntity.ok(createdExpenses);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
-                    .body(new MessageResponse("Error creating staff expense: " + e.getMessage()));
+                    .body(new MessageResponse("Error creating staff expenses: " + e.getMessage()));
         }
     }
     
@@ -158,6 +194,7 @@ public class StaffExpenseController {
      * Get staff expense by ID
      */
     @GetMapping("/{id}")
+    @ConditionalGet(Aggregate.STAFF_EXPENSES)
     @PreAuthorize("hasRole('ADMIN') or (@staffExpenseService.getStaffExpenseById(#id).isPresent() and @staffExpenseService.getStaffExpenseById(#id).get().staffUser.id == authentication.principal.id)")
     public ResponseEntity<?> getStaffExpenseById(@PathVariable Long id) {
         return staffExpenseService.getStaffExpenseById(id)
@@ -169,6 +206,7 @@ public class StaffExpenseController {
      * Get my staff expenses
      */
     @GetMapping("/my-expenses")
+    @ConditionalGet(Aggregate.STAFF_EXPENSES)
     @PreAuthorize("hasRole('STAFF') or hasRole('ADMIN')")
     public ResponseEntity<List<StaffExpense>> getMyStaffExpenses(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -180,6 +218,7 @@ public class StaffExpenseController {
      * Get my unpaid staff expenses
      */
     @GetMapping("/my-expenses/unpaid")
+    @ConditionalGet(Aggregate.STAFF_EXPENSES)
     @PreAuthorize("hasRole('STAFF') or hasRole('ADMIN')")
     public ResponseEntity<List<StaffExpense>> getMyUnpaidStaffExpenses(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -191,6 +230,7 @@ public class StaffExpenseController {
      * Get my paid staff expenses
      */
     @GetMapping("/my-expenses/paid")
+    @ConditionalGet(Aggregate.STAFF_EXPENSES)
     @PreAuthorize("hasRole('STAFF') or hasRole('ADMIN')")
     public ResponseEntity<List<StaffExpense>> getMyPaidStaffExpenses(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -202,6 +242,7 @@ public class StaffExpenseController {
      * Get my staff expense statistics
      */
     @GetMapping("/my-expenses/stats")
+    @ConditionalGet(Aggregate.STAFF_EXPENSES)
     @PreAuthorize("hasRole('STAFF') or hasRole('ADMIN')")
     public ResponseEntity<StaffExpenseService.StaffExpenseStats> getMyStaffExpenseStats(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -247,16 +288,59 @@ public class StaffExpenseController {
      * Get all unpaid staff expenses (Admin only)
      */
     @GetMapping("/unpaid")
+    @ConditionalGet(Aggregate.STAFF_EXPENSES)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<StaffExpense>> getAllUnpaidStaffExpenses() {
         List<StaffExpense> expenses = staffExpenseService.getAllUnpaidStaffExpenses();
         return ResponseEntity.ok(expenses);
     }
     
+    /**
+     * Get expense balances of all staff members in one response (Admin only)
+     */
+    @GetMapping("/balances")
+    @ConditionalGet(Aggregate.STAFF_EXPENSES)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<StaffExpenseBalance>> getAllStaffBalances() {
+        List<StaffExpenseBalance> balances = staffExpenseService.getAllStaffBalances();
+        return ResponseEntity.ok(balances);
+    }
+    
+    /**
+     * Get staff expense spend per DAY, WEEK or MONTH from the daily rollups (Admin only)
+     * groupBy is ALL or STAFF; from and to are yyyy-MM-dd
+     */
+    @GetMapping("/analytics")
+    @ConditionalGet({Aggregate.STAFF_EXPENSES, Aggregate.USERS})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getStaffExpenseAnalytics(@RequestParam(defaultValue = "DAY") String bucket,
+                                                      @RequestParam(defaultValue = "ALL") String groupBy,
+                                                      @RequestParam(required = false) String from,
+                                                      @RequestParam(required = false) String to) {
+        Bucket parsedBucket;
+        Dimension parsedGroupBy;
+        try {
+            parsedBucket = Bucket.valueOf(bucket.toUpperCase());
+            parsedGroupBy = Dimension.valueOf(groupBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Invalid bucket or groupBy: " + bucket + ", " + groupBy));
+        }
+        try {
+            ExpenseAnalytics analytics = staffExpenseService.getStaffExpenseAnalytics(parsedBucket, parsedGroupBy,
+                    from != null ? LocalDate.parse(from) : null, to != null ? LocalDate.parse(to) : null);
+            return ResponseEntity.ok(analytics);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error loading staff expense analytics: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Get staff expenses by user ID (Admin only)
      */
     @GetMapping("/user/{userId}")
+    @ConditionalGet(Aggregate.STAFF_EXPENSES)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<StaffExpense>> getStaffExpensesByUserId(@PathVariable Long userId) {
         List<StaffExpense> expenses = staffExpenseService.getStaffExpensesByUserId(userId);
@@ -267,6 +351,7 @@ public class StaffExpenseController {
      * Search staff expenses by complaint number
      */
     @GetMapping("/search")
+    @ConditionalGet(Aggregate.STAFF_EXPENSES)
     @PreAuthorize("hasRole('STAFF') or hasRole('ADMIN')")
     public ResponseEntity<List<StaffExpense>> searchByComplaintNumber(@RequestParam String complaintNumber,
                                                                      Authentication authentication) {
@@ -289,6 +374,7 @@ public class StaffExpenseController {
      * Get staff expenses by date range
      */
     @GetMapping("/date-range")
+    @ConditionalGet(Aggregate.STAFF_EXPENSES)
     @PreAuthorize("hasRole('STAFF') or hasRole('ADMIN')")
     public ResponseEntity<List<StaffExpense>> getStaffExpensesByDateRange(
             @RequestParam String startDate,
@@ -314,4 +400,24 @@ public class StaffExpenseController {
             return ResponseEntity.badRequest().build();
         }
     }
+    
+    /**
+     * Build a new StaffExpense from a request, status defaulting to PENDING
+     */
+    private StaffExpense toStaffExpense(StaffExpenseRequestDTO expenseRequest) {
+        StaffExpense staffExpense = new StaffExpense();
+        staffExpense.setAmount(expenseRequest.getAmount());
+        staffExpense.setExpenseDate(expenseRequest.getParsedExpenseDate());
+        staffExpense.setReason(expenseRequest.getReason());
+        staffExpense.setComplaintNumber(expenseRequest.getComplaintNumber());
+        
+        if (expenseRequest.getStatus() != null && !expenseRequest.getStatus().isEmpty()) {
+            try {
+                staffExpense.setStatus(ExpenseStatus.valueOf(expenseRequest.getStatus().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid status: " + expenseRequest.getStatus());
+            }
+        }
+        return staffExpense;
+    }
 }
@@ -15,9 +15,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.aarohi.tms.cache.ConditionalGet;
 import com.aarohi.tms.dto.MessageResponse;
 import com.aarohi.tms.entity.Role;
 import com.aarohi.tms.entity.User;
+import com.aarohi.tms.event.Aggregate;
 import com.aarohi.tms.service.UserService;
 
 import jakarta.validation.Valid;
@@ -37,6 +39,7 @@ public class UserController {
      * Get all users (Admin only)
      */
     @GetMapping
+    @ConditionalGet(Aggregate.USERS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<User>> getAllUsers() {
         List<User> users = userService.getAllUsers();
@@ -47,6 +50,7 @@ public class UserController {
      * Get user by ID
      */
     @GetMapping("/{id}")
+    @ConditionalGet(Aggregate.USERS)
     @PreAuthorize("hasRole('ADMIN') or @userService.getUserById(#id).get().username == authentication.name")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
         return userService.getUserById(id)
@@ -155,6 +159,7 @@ public class UserController {
      * Get users by role (Admin only)
      */
     @GetMapping("/role/{role}")
+    @ConditionalGet(Aggregate.USERS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<User>> getUsersByRole(@PathVariable Role role) {
         List<User> users = userService.getUsersByRole(role);
@@ -165,6 +170,7 @@ public class UserController {
      * Get active staff members (Admin only)
      */
     @GetMapping("/staff/active")
+    @ConditionalGet(Aggregate.USERS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<User>> getActiveStaffMembers() {
         List<User> staffMembers = userService.getActiveStaffMembers();
@@ -175,6 +181,7 @@ public class UserController {
      * Get all staff members (Admin only)
      */
     @GetMapping("/staff")
+    @ConditionalGet(Aggregate.USERS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<User>> getAllStaff() {
         List<User> staffMembers = userService.getAllStaff();
@@ -185,6 +192,7 @@ public class UserController {
      * Get user statistics (Admin only)
      */
     @GetMapping("/stats")
+    @ConditionalGet(Aggregate.USERS)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<UserService.UserStats> getUserStats() {
         UserService.UserStats stats = userService.getUserStats();
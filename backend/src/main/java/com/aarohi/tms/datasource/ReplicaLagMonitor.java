@@ -0,0 +1,157 @@
+package com.aarohi.tms.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aarohi.tms.dto.ReplicaStatus;
+import com.aarohi.tms.event.DomainChangeEvent;
+
+/**
+ * Decides whether read-only transactions may use the replica
+ *
+ * The replica is probed every app.datasource.replica.lag-check-ms: with app.datasource.replica.lag-query
+ * when set (a query returning lag in seconds), SHOW REPLICA STATUS on MySQL, otherwise a plain
+ * connectivity check. Reads go to the primary while the replica is unreachable or more than
+ * max-lag-seconds behind, and for the current lag plus a second after every committed change,
+ * so a client re-reading right after a write (and the ETag computed for it) never sees older data.
+ */
+public class ReplicaLagMonitor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    
+    private static final long READ_AFTER_WRITE_MARGIN_MS = 1000;
+    
+    private final DataSource replica;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    
+    private volatile boolean healthy = false;
+    private volatile Boolean lastUsable;
+    private volatile Long lagSeconds;
+    private volatile LocalDateTime lastProbe;
+    private volatile long lastWriteMillis;
+    private volatile boolean notReplicatingWarned = false;
+    
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder readsOnPrimary = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    
+    public ReplicaLagMonitor(DataSource replica, long maxLagSeconds, String lagQuery) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery != null && !lagQuery.isBlank() ? lagQuery : null;
+    }
+    
+    /**
+     * Whether a read-only transaction starting now may use the replica
+     */
+    public boolean isReplicaUsable() {
+        Long lag = lagSeconds;
+        if (!healthy || lag == null || lag > maxLagSeconds) {
+            return false;
+        }
+        return System.currentTimeMillis() - lastWriteMillis > lag * 1000 + READ_AFTER_WRITE_MARGIN_MS;
+    }
+    
+    /**
+     * Probe replica reachability and lag
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-ms:5000}")
+    public void probe() {
+        Long lag;
+        try (Connection connection = replica.getConnection()) {
+            lag = readLag(connection);
+            healthy = true;
+        } catch (SQLException | RuntimeException e) {
+            lag = null;
+            healthy = false;
+            logger.debug("Replica probe failed", e);
+        }
+        lagSeconds = lag;
+        lastProbe = LocalDateTime.now();
+        
+        boolean usable = healthy && lag != null && lag <= maxLagSeconds;
+        if (lastUsable == null || usable != lastUsable) {
+            lastUsable = usable;
+            if (usable) {
+                logger.info("Replica available (lag {}s), routing read-only transactions to it", lag);
+            } else {
+                logger.warn("Replica {}, routing read-only transactions to the primary",
+                        !healthy ? "unreachable" : lag == null ? "not replicating" : "lagging " + lag + "s");
+            }
+        }
+    }
+    
+    private Long readLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (lagQuery != null) {
+                try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                    return rs.next() ? toLong(rs.getObject(1)) : null;
+                }
+            }
+            if (!"MySQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return connection.isValid(2) ? 0L : null;
+            }
+            try (ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                if (rs.next()) {
+                    return toLong(rs.getObject("Seconds_Behind_Source"));
+                }
+            }
+            // Not set up as a replica (e.g. a second local instance for testing): treat as current
+            if (!notReplicatingWarned) {
+                notReplicatingWarned = true;
+                logger.warn("Replica reports no replication status, assuming it is current");
+            }
+            return 0L;
+        }
+    }
+    
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+    
+    /**
+     * A committed change: keep reads on the primary until the replica has caught up with it
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainChange(DomainChangeEvent event) {
+        lastWriteMillis = System.currentTimeMillis();
+    }
+    
+    /**
+     * Connecting to the replica failed; use the primary until the next successful probe
+     */
+    void markUnavailable(SQLException cause) {
+        fallbacks.increment();
+        if (healthy) {
+            healthy = false;
+            lastUsable = false;
+            logger.warn("Replica connection failed, routing read-only transactions to the primary: {}",
+                    cause.getMessage());
+        }
+    }
+    
+    void recordReplicaConnection() {
+        replicaConnections.increment();
+    }
+    
+    void recordReadOnPrimary() {
+        readsOnPrimary.increment();
+    }
+    
+    public ReplicaStatus getStatus() {
+        return new ReplicaStatus(true, healthy, lagSeconds, maxLagSeconds, lastProbe,
+                replicaConnections.sum(), readsOnPrimary.sum(), fallbacks.sum());
+    }
+}
@@ -0,0 +1,73 @@
+package com.aarohi.tms.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for @Transactional(readOnly = true) work to the replica and everything else
+ * to the primary
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: JPA asks for the connection while the transaction
+ * begins, before its read-only flag is visible here. Falls back to the primary when the lag monitor
+ * says the replica is behind or a replica connection cannot be obtained.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    /**
+     * Lookup keys of the two targets
+     */
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+    
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        if (lagMonitor.isReplicaUsable()) {
+            return Route.REPLICA;
+        }
+        lagMonitor.recordReadOnPrimary();
+        return Route.PRIMARY;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() != Route.REPLICA) {
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.getConnection();
+            lagMonitor.recordReplicaConnection();
+            return connection;
+        } catch (SQLException e) {
+            lagMonitor.markUnavailable(e);
+            return primary.getConnection();
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,51 @@
+package com.aarohi.tms.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one item of a bulk complaint assignment
+ * scheduleDate is optional; without it the complaint is assigned without a schedule change
+ * Items are checked by the service so a bad item is reported instead of rejecting the batch
+ */
+public class BulkAssignRequest {
+    
+    private Long complaintId;
+    
+    private Long staffId;
+    
+    private LocalDateTime scheduleDate;
+    
+    // Default constructor
+    public BulkAssignRequest() {}
+    
+    public BulkAssignRequest(Long complaintId, Long staffId, LocalDateTime scheduleDate) {
+        this.complaintId = complaintId;
+        this.staffId = staffId;
+        this.scheduleDate = scheduleDate;
+    }
+    
+    // Getters and setters
+    public Long getComplaintId() {
+        return complaintId;
+    }
+    
+    public void setComplaintId(Long complaintId) {
+        this.complaintId = complaintId;
+    }
+    
+    public Long getStaffId() {
+        return staffId;
+    }
+    
+    public void setStaffId(Long staffId) {
+        this.staffId = staffId;
+    }
+    
+    public LocalDateTime getScheduleDate() {
+        return scheduleDate;
+    }
+    
+    public void setScheduleDate(LocalDateTime scheduleDate) {
+        this.scheduleDate = scheduleDate;
+    }
+}
@@ -0,0 +1,15 @@
+package com.aarohi.tms.dto;
+
+/**
+ * Outcome of one item of a bulk complaint assignment
+ */
+public record BulkAssignResult(Long complaintId, Long staffId, boolean success, String message) {
+    
+    public static BulkAssignResult assigned(Long complaintId, Long staffId) {
+        return new BulkAssignResult(complaintId, staffId, true, "Assigned");
+    }
+    
+    public static BulkAssignResult failed(Long complaintId, Long staffId, String message) {
+        return new BulkAssignResult(complaintId, staffId, false, message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.aarohi.tms.dto;
+
+/**
+ * Hit/miss counters of one Hibernate second-level cache region since startup
+ */
+public record CacheRegionStats(
+        String region,
+        long hitCount,
+        long missCount,
+        long putCount,
+        double hitRatio) {
+}
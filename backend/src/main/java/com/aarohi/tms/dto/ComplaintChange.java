@@ -0,0 +1,48 @@
+package com.aarohi.tms.dto;
+
+import java.time.LocalDateTime;
+
+import com.aarohi.tms.entity.Priority;
+import com.aarohi.tms.entity.Status;
+import com.aarohi.tms.event.ComplaintChangedEvent;
+import com.aarohi.tms.event.ComplaintChangedEvent.ChangeType;
+
+/**
+ * Delta pushed to live dashboards for one committed complaint change
+ * Carries the previous status and staff so clients can move or drop rows without refetching
+ */
+public record ComplaintChange(
+        long sequence,
+        ChangeType type,
+        Long complaintId,
+        String customerName,
+        String city,
+        Status status,
+        Status previousStatus,
+        Priority priority,
+        Long assignedStaffId,
+        Long previousAssignedStaffId,
+        LocalDateTime scheduledDate,
+        LocalDateTime updatedDate) {
+    
+    /**
+     * Build the delta from a change event; deleted complaints report their last state
+     */
+    public static ComplaintChange of(long sequence, ComplaintChangedEvent event) {
+        ComplaintSnapshot before = event.getBefore();
+        ComplaintSnapshot current = event.getAfter() != null ? event.getAfter() : before;
+        return new ComplaintChange(
+                sequence,
+                event.getType(),
+                current.id(),
+                current.customerName(),
+                current.city(),
+                current.status(),
+                before != null ? before.status() : null,
+                current.priority(),
+                current.assignedStaffId(),
+                before != null ? before.assignedStaffId() : null,
+                current.scheduledDate(),
+                current.updatedDate());
+    }
+}
@@ -0,0 +1,96 @@
+package com.aarohi.tms.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.aarohi.tms.entity.Complaint;
+import com.aarohi.tms.entity.ComplaintTombstone;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/**
+ * DTO for one page of the complaint delta sync
+ * Clients apply removed before changed. While hasMore is true they call again with the same
+ * since and nextCursor. The last page carries removed and syncedAt, the since for the next sync.
+ * resyncRequired means since is older than the tombstone retention and a full reload is needed.
+ */
+public class ComplaintChangeSet {
+    
+    private List<Complaint> changed;
+    private List<ComplaintTombstone> removed;
+    private String nextCursor;
+    private boolean hasMore;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime syncedAt;
+    
+    private boolean resyncRequired;
+    
+    // Constructors
+    public ComplaintChangeSet() {}
+    
+    public ComplaintChangeSet(List<Complaint> changed, List<ComplaintTombstone> removed, String nextCursor,
+                              boolean hasMore, LocalDateTime syncedAt, boolean resyncRequired) {
+        this.changed = changed;
+        this.removed = removed;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.syncedAt = syncedAt;
+        this.resyncRequired = resyncRequired;
+    }
+    
+    /**
+     * Empty change set telling the client its since is too old
+     */
+    public static ComplaintChangeSet resync() {
+        return new ComplaintChangeSet(List.of(), List.of(), null, false, null, true);
+    }
+    
+    // Getters and Setters
+    public List<Complaint> getChanged() {
+        return changed;
+    }
+    
+    public void setChanged(List<Complaint> changed) {
+        this.changed = changed;
+    }
+    
+    public List<ComplaintTombstone> getRemoved() {
+        return removed;
+    }
+    
+    public void setRemoved(List<ComplaintTombstone> removed) {
+        this.removed = removed;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    public LocalDateTime getSyncedAt() {
+        return syncedAt;
+    }
+    
+    public void setSyncedAt(LocalDateTime syncedAt) {
+        this.syncedAt = syncedAt;
+    }
+    
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+    
+    public void setResyncRequired(boolean resyncRequired) {
+        this.resyncRequired = resyncRequired;
+    }
+}
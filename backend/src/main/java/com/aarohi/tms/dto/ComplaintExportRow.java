@@ -0,0 +1,85 @@
+package com.aarohi.tms.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.aarohi.tms.entity.Complaint;
+import com.aarohi.tms.entity.ComplaintType;
+import com.aarohi.tms.entity.Priority;
+import com.aarohi.tms.entity.Status;
+import com.aarohi.tms.entity.User;
+
+/**
+ * Flat complaint row for NDJSON/CSV exports, including the assigned staff member
+ */
+public record ComplaintExportRow(
+        Long id,
+        String customerName,
+        String mobileNumber,
+        String email,
+        String address,
+        String city,
+        String state,
+        String machineNameModel,
+        String problemDescription,
+        ComplaintType complaintType,
+        Status status,
+        Priority priority,
+        Boolean underWarranty,
+        LocalDate machinePurchaseDate,
+        LocalDateTime createdDate,
+        LocalDateTime scheduledDate,
+        LocalDateTime completionDate,
+        LocalDateTime updatedDate,
+        Long assignedStaffId,
+        String assignedStaffName,
+        String resolutionNotes) {
+    
+    /**
+     * CSV header, in component order
+     */
+    public static final String[] COLUMNS = {
+        "id", "customerName", "mobileNumber", "email", "address", "city", "state",
+        "machineNameModel", "problemDescription", "complaintType", "status", "priority",
+        "underWarranty", "machinePurchaseDate", "createdDate", "scheduledDate", "completionDate",
+        "updatedDate", "assignedStaffId", "assignedStaffName", "resolutionNotes"
+    };
+    
+    public static ComplaintExportRow of(Complaint complaint) {
+        User staff = complaint.getAssignedStaff();
+        return new ComplaintExportRow(
+                complaint.getId(),
+                complaint.getCustomerName(),
+                complaint.getMobileNumber(),
+                complaint.getEmail(),
+                complaint.getAddress(),
+                complaint.getCity(),
+                complaint.getState(),
+                complaint.getMachineNameModel(),
+                complaint.getProblemDescription(),
+                complaint.getComplaintType(),
+                complaint.getStatus(),
+                complaint.getPriority(),
+                complaint.getUnderWarranty(),
+                complaint.getMachinePurchaseDate(),
+                complaint.getCreatedDate(),
+                complaint.getScheduledDate(),
+                complaint.getCompletionDate(),
+                complaint.getUpdatedDate(),
+                staff != null ? staff.getId() : null,
+                staff != null ? staff.getFullName() : null,
+                complaint.getResolutionNotes());
+    }
+    
+    /**
+     * Values in CSV column order
+     */
+    public Object[] values() {
+        return new Object[] {
+            id, customerName, mobileNumber, email, address, city, state,
+            machineNameModel, problemDescription, complaintType, status, priority,
+            underWarranty, machinePurchaseDate, createdDate, scheduledDate, completionDate,
+            updatedDate, assignedStaffId, assignedStaffName, resolutionNotes
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.aarohi.tms.dto;
+
+import java.time.LocalDateTime;
+
+import com.aarohi.tms.entity.Complaint;
+import com.aarohi.tms.entity.Priority;
+import com.aarohi.tms.entity.Status;
+
+/**
+ * Immutable copy of the complaint fields that in-memory indexes keep track of
+ * Safe to hand to listeners running after the transaction has committed
+ */
+public record ComplaintSnapshot(
+        Long id,
+        String customerName,
+        String mobileNumber,
+        String city,
+        String machineNameModel,
+        Status status,
+        Priority priority,
+        Long assignedStaffId,
+        LocalDateTime scheduledDate,
+        LocalDateTime updatedDate) {
+    
+    /**
+     * Capture the current state of a complaint
+     */
+    public static ComplaintSnapshot of(Complaint complaint) {
+        return new ComplaintSnapshot(
+                complaint.getId(),
+                complaint.getCustomerName(),
+                complaint.getMobileNumber(),
+                complaint.getCity(),
+                complaint.getMachineNameModel(),
+                complaint.getStatus(),
+                complaint.getPriority(),
+                complaint.getAssignedStaff() != null ? complaint.getAssignedStaff().getId() : null,
+                complaint.getScheduledDate(),
+                complaint.getUpdatedDate());
+    }
+}
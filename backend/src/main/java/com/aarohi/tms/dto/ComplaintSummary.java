@@ -0,0 +1,29 @@
+package com.aarohi.tms.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.aarohi.tms.entity.ComplaintType;
+import com.aarohi.tms.entity.Priority;
+import com.aarohi.tms.entity.Status;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/**
+ * Read-only projection of a complaint for list screens
+ * Built directly by JPQL constructor expressions, so rows are never managed entities
+ */
+public record ComplaintSummary(
+        Long id,
+        String customerName,
+        String mobileNumber,
+        String city,
+        Status status,
+        Priority priority,
+        ComplaintType complaintType,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime createdDate,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime scheduledDate,
+        Long assignedStaffId,
+        String assignedStaffName,
+        BigDecimal expenseTotal,
+        Long expenseCount) {
+}
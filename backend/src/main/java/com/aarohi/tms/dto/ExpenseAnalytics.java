@@ -0,0 +1,72 @@
+package com.aarohi.tms.dto;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import com.aarohi.tms.entity.ExpenseDailyRollup.Dimension;
+import com.aarohi.tms.entity.ExpenseDailyRollup.Source;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/**
+ * Expense spend per time bucket, optionally broken down by one dimension
+ * from is the start of the first bucket, to the last day included
+ */
+public record ExpenseAnalytics(
+        Source source,
+        Bucket bucket,
+        Dimension groupBy,
+        @JsonFormat(pattern = "yyyy-MM-dd") LocalDate from,
+        @JsonFormat(pattern = "yyyy-MM-dd") LocalDate to,
+        List<Point> points) {
+    
+    /**
+     * Length of a time bucket
+     */
+    public enum Bucket {
+        DAY,
+        WEEK,   // ISO weeks, starting on Monday
+        MONTH;
+        
+        /**
+         * First day of the bucket a day falls in
+         */
+        public LocalDate start(LocalDate day) {
+            switch (this) {
+                case WEEK:
+                    return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH:
+                    return day.withDayOfMonth(1);
+                default:
+                    return day;
+            }
+        }
+        
+        /**
+         * Default first day of a chart ending on a day: 30 days, 12 weeks or 12 months
+         */
+        public LocalDate defaultFrom(LocalDate to) {
+            switch (this) {
+                case WEEK:
+                    return start(to).minusWeeks(11);
+                case MONTH:
+                    return start(to).minusMonths(11);
+                default:
+                    return to.minusDays(29);
+            }
+        }
+    }
+    
+    /**
+     * Spend of one group in one bucket
+     */
+    public record Point(
+            @JsonFormat(pattern = "yyyy-MM-dd") LocalDate periodStart,
+            String groupKey,
+            String groupLabel,
+            Long expenseCount,
+            BigDecimal totalAmount) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.aarohi.tms.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Expense count and amount of one (day, group) pair, read from the rollups or summed from expenses
+ */
+public record ExpenseRollupRow(LocalDate day, String groupKey, Long count, BigDecimal amount) {
+}
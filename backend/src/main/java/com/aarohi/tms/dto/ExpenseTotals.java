@@ -0,0 +1,9 @@
+package com.aarohi.tms.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Expense count and amount summed over running-total rows
+ */
+public record ExpenseTotals(Long count, BigDecimal amount) {
+}
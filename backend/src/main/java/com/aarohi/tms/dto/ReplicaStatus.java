@@ -0,0 +1,25 @@
+package com.aarohi.tms.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read replica routing state: last lag probe and connection counters since startup
+ * lagSeconds is null when the last probe failed or replication is broken
+ */
+public record ReplicaStatus(
+        boolean configured,
+        boolean healthy,
+        Long lagSeconds,
+        long maxLagSeconds,
+        LocalDateTime lastProbe,
+        long replicaConnections,
+        long readsOnPrimary,
+        long fallbacks) {
+    
+    /**
+     * Status when no replica is configured and everything runs on the primary
+     */
+    public static ReplicaStatus notConfigured() {
+        return new ReplicaStatus(false, false, null, 0, null, 0, 0, 0);
+    }
+}
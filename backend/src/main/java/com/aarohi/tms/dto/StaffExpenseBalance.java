@@ -0,0 +1,77 @@
+package com.aarohi.tms.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Expense balance of one staff member: amounts and counts split by paid-by-company state
+ * Advances count only against unpaid expenses, so outstanding = unpaid - advances
+ */
+public record StaffExpenseBalance(
+        Long staffUserId,
+        BigDecimal totalAmount,
+        BigDecimal unpaidAmount,
+        BigDecimal paidAmount,
+        Long unpaidCount,
+        Long paidCount,
+        BigDecimal advancePaid) {
+    
+    /**
+     * Balance of a staff member without expenses
+     */
+    public static StaffExpenseBalance empty(Long staffUserId) {
+        return new StaffExpenseBalance(staffUserId, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                0L, 0L, BigDecimal.ZERO);
+    }
+    
+    /**
+     * Amount still owed to the staff member
+     */
+    public BigDecimal getOutstandingAmount() {
+        return unpaidAmount.subtract(advancePaid);
+    }
+    
+    /**
+     * This balance with one expense added (sign 1) or removed (sign -1)
+     */
+    public StaffExpenseBalance apply(StaffExpenseSnapshot expense, int sign) {
+        BigDecimal amount = expense.amount() != null ? expense.amount() : BigDecimal.ZERO;
+        BigDecimal advance = expense.advancePaid() != null ? expense.advancePaid() : BigDecimal.ZERO;
+        BigDecimal signedAmount = sign < 0 ? amount.negate() : amount;
+        if (Boolean.TRUE.equals(expense.paidByCompany())) {
+            return new StaffExpenseBalance(staffUserId, totalAmount.add(signedAmount), unpaidAmount,
+                    paidAmount.add(signedAmount), unpaidCount, paidCount + sign, advancePaid);
+        }
+        if (Boolean.FALSE.equals(expense.paidByCompany())) {
+            BigDecimal signedAdvance = sign < 0 ? advance.negate() : advance;
+            return new StaffExpenseBalance(staffUserId, totalAmount.add(signedAmount), unpaidAmount.add(signedAmount),
+                    paidAmount, unpaidCount + sign, paidCount, advancePaid.add(signedAdvance));
+        }
+        return new StaffExpenseBalance(staffUserId, totalAmount.add(signedAmount), unpaidAmount, paidAmount,
+                unpaidCount, paidCount, advancePaid);
+    }
+    
+    /**
+     * This balance with every amount and count of another one added
+     */
+    public StaffExpenseBalance plus(StaffExpenseBalance other) {
+        return new StaffExpenseBalance(staffUserId, totalAmount.add(other.totalAmount),
+                unpaidAmount.add(other.unpaidAmount), paidAmount.add(other.paidAmount),
+                unpaidCount + other.unpaidCount, paidCount + other.paidCount, advancePaid.add(other.advancePaid));
+    }
+    
+    /**
+     * This balance with every amount and count of another one subtracted
+     */
+    public StaffExpenseBalance minus(StaffExpenseBalance other) {
+        return new StaffExpenseBalance(staffUserId, totalAmount.subtract(other.totalAmount),
+                unpaidAmount.subtract(other.unpaidAmount), paidAmount.subtract(other.paidAmount),
+                unpaidCount - other.unpaidCount, paidCount - other.paidCount, advancePaid.subtract(other.advancePaid));
+    }
+    
+    /**
+     * Whether any expense is left in the balance
+     */
+    public boolean hasExpenses() {
+        return unpaidCount != 0 || paidCount != 0 || totalAmount.signum() != 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.aarohi.tms.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.aarohi.tms.entity.StaffExpense;
+
+/**
+ * Immutable copy of the staff expense fields that the balance ledger and daily rollups keep track of
+ * Safe to hand to listeners running after the transaction has committed
+ */
+public record StaffExpenseSnapshot(
+        Long id,
+        Long staffUserId,
+        BigDecimal amount,
+        Boolean paidByCompany,
+        BigDecimal advancePaid,
+        LocalDate expenseDay) {
+    
+    /**
+     * Capture the current state of a staff expense
+     */
+    public static StaffExpenseSnapshot of(StaffExpense expense) {
+        return new StaffExpenseSnapshot(
+                expense.getId(),
+                expense.getStaffUser() != null ? expense.getStaffUser().getId() : null,
+                expense.getAmount(),
+                expense.getIsPaidByCompany(),
+                expense.getAdvancePaid(),
+                expense.getExpenseDate() != null ? expense.getExpenseDate().toLocalDate() : null);
+    }
+}
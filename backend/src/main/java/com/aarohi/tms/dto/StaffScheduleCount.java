@@ -0,0 +1,11 @@
+package com.aarohi.tms.dto;
+
+import java.time.LocalDate;
+
+import com.aarohi.tms.entity.Status;
+
+/**
+ * Scheduled complaint count for one (staff, status, day) group
+ */
+public record StaffScheduleCount(Long staffId, String staffName, Status status, LocalDate day, Long count) {
+}
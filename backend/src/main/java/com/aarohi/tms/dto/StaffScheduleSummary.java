@@ -0,0 +1,18 @@
+package com.aarohi.tms.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Per-staff schedule summary for a date range
+ * scheduledByDay maps each day with work to the number of complaints scheduled on it
+ */
+public record StaffScheduleSummary(
+        Long staffId,
+        String staffName,
+        long totalScheduled,
+        long pending,
+        long inProgress,
+        long completed,
+        Map<LocalDate, Long> scheduledByDay) {
+}
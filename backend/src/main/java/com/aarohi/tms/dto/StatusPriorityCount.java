@@ -0,0 +1,10 @@
+package com.aarohi.tms.dto;
+
+import com.aarohi.tms.entity.Priority;
+import com.aarohi.tms.entity.Status;
+
+/**
+ * Complaint count for one (status, priority) group
+ */
+public record StatusPriorityCount(Status status, Priority priority, Long count) {
+}
@@ -0,0 +1,7 @@
+package com.aarohi.tms.dto;
+
+/**
+ * Single-use ticket for opening the complaint stream, valid for expiresInSeconds
+ */
+public record StreamTicketResponse(String ticket, long expiresInSeconds) {
+}
@@ -0,0 +1,7 @@
+package com.aarohi.tms.dto;
+
+/**
+ * Token version and active flag of a user, loaded without the rest of the entity
+ */
+public record UserTokenState(Long id, Integer tokenVersion, Boolean isActive) {
+}
@@ -1,10 +1,13 @@
 package com.aarohi.tms.entity;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -116,6 +119,15 @@ public class Complaint {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updatedDate;
     
+    // Expense rollup, maintained by set-based updates from ExpenseService only
+    @ColumnDefault("0")
+    @Column(name = "expense_total", nullable = false, insertable = false, updatable = false, precision = 14, scale = 2)
+    private BigDecimal expenseTotal = BigDecimal.ZERO;
+    
+    @ColumnDefault("0")
+    @Column(name = "expense_count", nullable = false, insertable = false, updatable = false)
+    private Long expenseCount = 0L;
+    
     // Constructors
     public Complaint() {
         this.createdDate = LocalDateTime.now();
@@ -291,4 +303,20 @@ public class Complaint {
     public void setUpdatedDate(LocalDateTime updatedDate) {
         this.updatedDate = updatedDate;
     }
+    
+    public BigDecimal getExpenseTotal() {
+        return expenseTotal;
+    }
+    
+    public void setExpenseTotal(BigDecimal expenseTotal) {
+        this.expenseTotal = expenseTotal;
+    }
+    
+    public Long getExpenseCount() {
+        return expenseCount;
+    }
+    
+    public void setExpenseCount(Long expenseCount) {
+        this.expenseCount = expenseCount;
+    }
 }
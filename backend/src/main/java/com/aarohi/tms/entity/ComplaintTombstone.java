@@ -0,0 +1,102 @@
+package com.aarohi.tms.entity;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Marker for a complaint that left a client's view, returned by the delta sync endpoint
+ * DELETED tombstones apply to everyone, UNASSIGNED ones only to the previous staff member
+ */
+@Entity
+@Table(name = "complaint_tombstones")
+public class ComplaintTombstone {
+    
+    /**
+     * Why the complaint left the view
+     */
+    public enum Reason {
+        DELETED,
+        UNASSIGNED
+    }
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long id;
+    
+    @Column(name = "complaint_id", nullable = false)
+    private Long complaintId;
+    
+    @Column(name = "staff_user_id")
+    private Long staffId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason", nullable = false)
+    private Reason reason;
+    
+    @Column(name = "removed_at", nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime removedAt;
+    
+    // Constructors
+    public ComplaintTombstone() {}
+    
+    public ComplaintTombstone(Long complaintId, Long staffId, Reason reason, LocalDateTime removedAt) {
+        this.complaintId = complaintId;
+        this.staffId = staffId;
+        this.reason = reason;
+        this.removedAt = removedAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getComplaintId() {
+        return complaintId;
+    }
+    
+    public void setComplaintId(Long complaintId) {
+        this.complaintId = complaintId;
+    }
+    
+    public Long getStaffId() {
+        return staffId;
+    }
+    
+    public void setStaffId(Long staffId) {
+        this.staffId = staffId;
+    }
+    
+    public Reason getReason() {
+        return reason;
+    }
+    
+    public void setReason(Reason reason) {
+        this.reason = reason;
+    }
+    
+    public LocalDateTime getRemovedAt() {
+        return removedAt;
+    }
+    
+    public void setRemovedAt(LocalDateTime removedAt) {
+        this.removedAt = removedAt;
+    }
+}
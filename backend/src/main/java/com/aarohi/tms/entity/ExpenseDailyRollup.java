@@ -0,0 +1,191 @@
+package com.aarohi.tms.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Expense count and amount for one day and one group of a breakdown
+ * Maintained in the same transaction as every expense and staff expense write; weekly
+ * and monthly figures are summed from these rows
+ */
+@Entity
+@Table(name = "expense_daily_rollups")
+@IdClass(ExpenseDailyRollup.Key.class)
+public class ExpenseDailyRollup {
+    
+    /**
+     * Which expenses a rollup row counts
+     */
+    public enum Source {
+        EXPENSE,        // complaint expenses (Expense)
+        STAFF_EXPENSE   // staff expense claims (StaffExpense)
+    }
+    
+    /**
+     * What the group key of a rollup row identifies
+     */
+    public enum Dimension {
+        ALL,            // one row per day, key is empty
+        STAFF,          // key is the id of the user who added (or claimed) the expense
+        VENDOR,         // key is the trimmed, lower-cased vendor name (complaint expenses only)
+        COMPLAINT_TYPE  // key is the complaint type name (complaint expenses only)
+    }
+    
+    /**
+     * Group key used when the grouped value is missing
+     */
+    public static final String NO_GROUP = "";
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false)
+    private Source source;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false)
+    private Dimension dimension;
+    
+    @Id
+    @Column(name = "expense_day", nullable = false)
+    private LocalDate expenseDay;
+    
+    @Id
+    @Column(name = "group_key", nullable = false)
+    private String groupKey;
+    
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount;
+    
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+    
+    // Constructors
+    public ExpenseDailyRollup() {}
+    
+    /**
+     * Group key of a vendor name, so spellings differing only in case or spacing share a row
+     */
+    public static String vendorKey(String vendorName) {
+        if (vendorName == null) {
+            return NO_GROUP;
+        }
+        // Strip spaces only, like SQL TRIM in the reconciliation queries
+        int start = 0;
+        int end = vendorName.length();
+        while (start < end && vendorName.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && vendorName.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return vendorName.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Group key of a user or enum value
+     */
+    public static String groupKey(Object value) {
+        return value == null ? NO_GROUP : value.toString();
+    }
+    
+    // Getters and Setters
+    public Source getSource() {
+        return source;
+    }
+    
+    public void setSource(Source source) {
+        this.source = source;
+    }
+    
+    public Dimension getDimension() {
+        return dimension;
+    }
+    
+    public void setDimension(Dimension dimension) {
+        this.dimension = dimension;
+    }
+    
+    public LocalDate getExpenseDay() {
+        return expenseDay;
+    }
+    
+    public void setExpenseDay(LocalDate expenseDay) {
+        this.expenseDay = expenseDay;
+    }
+    
+    public String getGroupKey() {
+        return groupKey;
+    }
+    
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+    
+    public Long getExpenseCount() {
+        return expenseCount;
+    }
+    
+    public void setExpenseCount(Long expenseCount) {
+        this.expenseCount = expenseCount;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    /**
+     * Composite primary key (source, dimension, expense_day, group_key)
+     */
+    public static class Key implements Serializable {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private Source source;
+        private Dimension dimension;
+        private LocalDate expenseDay;
+        private String groupKey;
+        
+        public Key() {}
+        
+        public Key(Source source, Dimension dimension, LocalDate expenseDay, String groupKey) {
+            this.source = source;
+            this.dimension = dimension;
+            this.expenseDay = expenseDay;
+            this.groupKey = groupKey;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return source == other.source && dimension == other.dimension
+                    && Objects.equals(expenseDay, other.expenseDay) && Objects.equals(groupKey, other.groupKey);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, dimension, expenseDay, groupKey);
+        }
+    }
+}
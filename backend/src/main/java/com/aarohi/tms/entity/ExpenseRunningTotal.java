@@ -0,0 +1,125 @@
+package com.aarohi.tms.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Running expense count and amount for one day or user
+ * Maintained in the same transaction as every expense write, so statistics never scan expenses
+ */
+@Entity
+@Table(name = "expense_running_totals")
+@IdClass(ExpenseRunningTotal.Key.class)
+public class ExpenseRunningTotal {
+    
+    /**
+     * What the scope key identifies
+     */
+    public enum Scope {
+        DAY,    // key is the expense date as yyyyMMdd, 0 for expenses without a date
+        USER    // key is the id of the user who added the expense
+    }
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false)
+    private Scope scope;
+    
+    @Id
+    @Column(name = "scope_key", nullable = false)
+    private Long scopeKey;
+    
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount;
+    
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+    
+    // Constructors
+    public ExpenseRunningTotal() {}
+    
+    /**
+     * Scope key of the day bucket an expense date falls in
+     */
+    public static long dayKey(LocalDate date) {
+        return date == null ? 0 : date.getYear() * 10000L + date.getMonthValue() * 100L + date.getDayOfMonth();
+    }
+    
+    // Getters and Setters
+    public Scope getScope() {
+        return scope;
+    }
+    
+    public void setScope(Scope scope) {
+        this.scope = scope;
+    }
+    
+    public Long getScopeKey() {
+        return scopeKey;
+    }
+    
+    public void setScopeKey(Long scopeKey) {
+        this.scopeKey = scopeKey;
+    }
+    
+    public Long getExpenseCount() {
+        return expenseCount;
+    }
+    
+    public void setExpenseCount(Long expenseCount) {
+        this.expenseCount = expenseCount;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    /**
+     * Composite primary key (scope, scope_key)
+     */
+    public static class Key implements Serializable {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private Scope scope;
+        private Long scopeKey;
+        
+        public Key() {}
+        
+        public Key(Scope scope, Long scopeKey) {
+            this.scope = scope;
+            this.scopeKey = scopeKey;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return scope == other.scope && Objects.equals(scopeKey, other.scopeKey);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, scopeKey);
+        }
+    }
+}
@@ -17,6 +17,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -31,8 +32,11 @@ public class StaffExpense {
     @Column(name = "advance_paid", precision = 10, scale = 2)
     private BigDecimal advancePaid;
     
+    // Pooled ids from id_generators (50 per round trip), so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "staff_expense_ids")
+    @TableGenerator(name = "staff_expense_ids", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "staff_expenses", allocationSize = 50)
     private Long id;
     
     @NotNull
@@ -4,9 +4,13 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -27,6 +31,8 @@ import jakarta.validation.constraints.Size;
  */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User {
     
     @Id
@@ -64,6 +70,11 @@ public class User {
     @Column(name = "is_active")
     private Boolean isActive = true;
     
+    // Version claim carried by access tokens; bumping it revokes the user's existing tokens
+    @Column(name = "token_version", nullable = false)
+    @JsonIgnore
+    private Integer tokenVersion = 0;
+    
     // One staff can be assigned to many complaints
     @OneToMany(mappedBy = "assignedStaff", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
@@ -158,6 +169,14 @@ public class User {
         this.isActive = isActive;
     }
     
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+    
     public Set<Complaint> getAssignedComplaints() {
         return assignedComplaints;
     }
@@ -0,0 +1,11 @@
+package com.aarohi.tms.event;
+
+/**
+ * Groups of data whose changes are tracked together (e.g. for conditional GET versions)
+ */
+public enum Aggregate {
+    COMPLAINTS,
+    EXPENSES,
+    STAFF_EXPENSES,
+    USERS
+}
@@ -0,0 +1,62 @@
+package com.aarohi.tms.event;
+
+import java.util.Set;
+
+import com.aarohi.tms.dto.ComplaintSnapshot;
+
+/**
+ * Domain event published by ComplaintService for every complaint mutation
+ * before is null for CREATED, after is null for DELETED
+ */
+public class ComplaintChangedEvent implements DomainChangeEvent {
+    
+    /**
+     * Kind of mutation that produced the event
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        ASSIGNED,
+        RESCHEDULED,
+        STATUS_CHANGED,
+        DELETED
+    }
+    
+    private final ChangeType type;
+    private final ComplaintSnapshot before;
+    private final ComplaintSnapshot after;
+    
+    public ComplaintChangedEvent(ChangeType type, ComplaintSnapshot before, ComplaintSnapshot after) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+    
+    /**
+     * Id of the changed complaint
+     */
+    public Long getComplaintId() {
+        return after != null ? after.id() : before.id();
+    }
+    
+    /**
+     * Deleting a complaint also deletes its expenses (cascade)
+     */
+    @Override
+    public Set<Aggregate> getAffectedAggregates() {
+        return type == ChangeType.DELETED ? Set.of(Aggregate.COMPLAINTS, Aggregate.EXPENSES) : Set.of(Aggregate.COMPLAINTS);
+    }
+    
+    // Getters
+    public ChangeType getType() {
+        return type;
+    }
+    
+    public ComplaintSnapshot getBefore() {
+        return before;
+    }
+    
+    public ComplaintSnapshot getAfter() {
+        return after;
+    }
+}
@@ -0,0 +1,14 @@
+package com.aarohi.tms.event;
+
+import java.util.Set;
+
+/**
+ * Common contract of the domain events published by services after a mutation
+ */
+public interface DomainChangeEvent {
+    
+    /**
+     * Aggregates whose data changed, including cascaded changes
+     */
+    Set<Aggregate> getAffectedAggregates();
+}
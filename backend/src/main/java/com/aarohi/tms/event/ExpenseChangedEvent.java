@@ -0,0 +1,34 @@
+package com.aarohi.tms.event;
+
+import java.util.Set;
+
+/**
+ * Domain event published by ExpenseService for every expense mutation
+ */
+public class ExpenseChangedEvent implements DomainChangeEvent {
+    
+    private final Long expenseId;
+    private final Long complaintId;
+    
+    public ExpenseChangedEvent(Long expenseId, Long complaintId) {
+        this.expenseId = expenseId;
+        this.complaintId = complaintId;
+    }
+    
+    /**
+     * Expense writes also move the complaint's expense rollup
+     */
+    @Override
+    public Set<Aggregate> getAffectedAggregates() {
+        return Set.of(Aggregate.EXPENSES, Aggregate.COMPLAINTS);
+    }
+    
+    // Getters
+    public Long getExpenseId() {
+        return expenseId;
+    }
+    
+    public Long getComplaintId() {
+        return complaintId;
+    }
+}
@@ -0,0 +1,47 @@
+package com.aarohi.tms.event;
+
+import java.util.Set;
+
+import com.aarohi.tms.dto.StaffExpenseSnapshot;
+
+/**
+ * Domain event published by StaffExpenseService for every staff expense mutation
+ * Carries the expense state before (null on create) and after (null on delete) the change
+ */
+public class StaffExpenseChangedEvent implements DomainChangeEvent {
+    
+    private final Long staffExpenseId;
+    private final Long staffUserId;
+    private final StaffExpenseSnapshot before;
+    private final StaffExpenseSnapshot after;
+    
+    public StaffExpenseChangedEvent(Long staffExpenseId, Long staffUserId,
+                                    StaffExpenseSnapshot before, StaffExpenseSnapshot after) {
+        this.staffExpenseId = staffExpenseId;
+        this.staffUserId = staffUserId;
+        this.before = before;
+        this.after = after;
+    }
+    
+    @Override
+    public Set<Aggregate> getAffectedAggregates() {
+        return Set.of(Aggregate.STAFF_EXPENSES);
+    }
+    
+    // Getters
+    public Long getStaffExpenseId() {
+        return staffExpenseId;
+    }
+    
+    public Long getStaffUserId() {
+        return staffUserId;
+    }
+    
+    public StaffExpenseSnapshot getBefore() {
+        return before;
+    }
+    
+    public StaffExpenseSnapshot getAfter() {
+        return after;
+    }
+}
@@ -0,0 +1,39 @@
+package com.aarohi.tms.event;
+
+import java.util.Set;
+
+/**
+ * Domain event published by UserService for every user mutation
+ * Carries the username before and after the change so caches keyed by username
+ * can drop both entries when a user is renamed
+ */
+public class UserChangedEvent implements DomainChangeEvent {
+    
+    private final Long userId;
+    private final String previousUsername;
+    private final String username;
+    
+    public UserChangedEvent(Long userId, String previousUsername, String username) {
+        this.userId = userId;
+        this.previousUsername = previousUsername;
+        this.username = username;
+    }
+    
+    @Override
+    public Set<Aggregate> getAffectedAggregates() {
+        return Set.of(Aggregate.USERS);
+    }
+    
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getPreviousUsername() {
+        return previousUsername;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,224 @@
+package com.aarohi.tms.index;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aarohi.tms.dto.ComplaintSnapshot;
+import com.aarohi.tms.entity.Status;
+import com.aarohi.tms.event.ComplaintChangedEvent;
+import com.aarohi.tms.repository.ComplaintRepository;
+
+/**
+ * In-memory index of active (not closed) complaint ids by mobile number
+ *
+ * Serves the public complaint form checks without a database round-trip when the
+ * customer has no active complaint. A Bloom filter rejects unknown numbers before
+ * the hash map is consulted. Kept current from committed ComplaintChangedEvents, and
+ * reloaded periodically so entries left behind by a missed event are corrected.
+ */
+@Component
+public class ActiveComplaintIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ActiveComplaintIndex.class);
+    
+    private static final int MIN_BLOOM_CAPACITY = 10_000;
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+    
+    @Autowired
+    private ComplaintRepository complaintRepository;
+    
+    private final Map<String, Set<Long>> activeByMobile = new HashMap<>();
+    private final Map<Long, String> mobileById = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private BloomFilter bloomFilter = new BloomFilter(MIN_BLOOM_CAPACITY, BLOOM_FALSE_POSITIVE_RATE);
+    private volatile boolean ready = false;
+    
+    // Latest change per complaint applied while reconcile() loads, replayed on the loaded state
+    private Map<Long, ComplaintChangedEvent> changedDuringReload;
+    
+    /**
+     * Rebuild the index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            load(complaintRepository.findSnapshotsByStatusNot(Status.CLOSED));
+            rebuildBloomFilter();
+            ready = true;
+            logger.info("Active complaint index built: {} active complaints for {} mobile numbers",
+                    mobileById.size(), activeByMobile.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Periodically reload the index from the database
+     * The load runs without the lock; changes applied meanwhile are replayed on the loaded
+     * state, which is safe because applying a change only sets that complaint's entry
+     */
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            changedDuringReload = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        List<ComplaintSnapshot> active = null;
+        try {
+            active = complaintRepository.findSnapshotsByStatusNot(Status.CLOSED);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (active != null) {
+                    Map<Long, String> previous = new HashMap<>(mobileById);
+                    load(active);
+                    for (ComplaintChangedEvent event : changedDuringReload.values()) {
+                        apply(event);
+                    }
+                    rebuildBloomFilter();
+                    int corrected = countDifferences(previous, mobileById);
+                    if (corrected > 0) {
+                        logger.warn("Active complaint index reconciled, corrected {} complaints", corrected);
+                    }
+                }
+                changedDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+    
+    /**
+     * Apply a committed complaint change
+     */
+    @TransactionalEventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(event);
+            if (changedDuringReload != null) {
+                changedDuringReload.put(event.getComplaintId(), event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Ids of active complaints for a mobile number
+     * Returns empty when the index is not built yet and callers must ask the database
+     */
+    public Optional<Set<Long>> findActiveComplaintIds(String mobileNumber) {
+        if (!ready || mobileNumber == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (!bloomFilter.mightContain(mobileNumber)) {
+                return Optional.of(Set.of());
+            }
+            Set<Long> ids = activeByMobile.get(mobileNumber);
+            return Optional.of(ids != null ? new HashSet<>(ids) : Set.of());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Same rule as the repository query: any status other than CLOSED is active
+     */
+    private static boolean isActive(Status status) {
+        return status != null && status != Status.CLOSED;
+    }
+    
+    private void apply(ComplaintChangedEvent event) {
+        remove(event.getComplaintId());
+        ComplaintSnapshot after = event.getAfter();
+        if (after != null && isActive(after.status())) {
+            add(after.id(), after.mobileNumber());
+            bloomFilter.put(after.mobileNumber());
+            if (bloomFilter.isSaturated()) {
+                rebuildBloomFilter();
+            }
+        }
+    }
+    
+    private void load(List<ComplaintSnapshot> active) {
+        activeByMobile.clear();
+        mobileById.clear();
+        for (ComplaintSnapshot snapshot : active) {
+            add(snapshot.id(), snapshot.mobileNumber());
+        }
+    }
+    
+    private static int countDifferences(Map<Long, String> before, Map<Long, String> after) {
+        int count = 0;
+        for (Map.Entry<Long, String> entry : after.entrySet()) {
+            if (!entry.getValue().equals(before.get(entry.getKey()))) {
+                count++;
+            }
+        }
+        for (Long id : before.keySet()) {
+            if (!after.containsKey(id)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private void add(Long id, String mobileNumber) {
+        if (mobileNumber == null) {
+            return;
+        }
+        activeByMobile.computeIfAbsent(mobileNumber, m -> new HashSet<>()).add(id);
+        mobileById.put(id, mobileNumber);
+    }
+    
+    private void remove(Long id) {
+        String mobileNumber = mobileById.remove(id);
+        if (mobileNumber == null) {
+            return;
+        }
+        Set<Long> ids = activeByMobile.get(mobileNumber);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                activeByMobile.remove(mobileNumber);
+            }
+        }
+    }
+    
+    /**
+     * Size a fresh filter for the current numbers; drops numbers whose complaints were closed
+     */
+    private void rebuildBloomFilter() {
+        BloomFilter filter = new BloomFilter(Math.max(MIN_BLOOM_CAPACITY, activeByMobile.size() * 2),
+                BLOOM_FALSE_POSITIVE_RATE);
+        for (String mobileNumber : activeByMobile.keySet()) {
+            filter.put(mobileNumber);
+        }
+        bloomFilter = filter;
+    }
+}
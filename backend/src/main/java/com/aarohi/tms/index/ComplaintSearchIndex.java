@@ -0,0 +1,209 @@
+package com.aarohi.tms.index;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aarohi.tms.dto.ComplaintSnapshot;
+import com.aarohi.tms.event.ComplaintChangedEvent;
+import com.aarohi.tms.repository.ComplaintRepository;
+
+/**
+ * In-memory trigram inverted index over complaint customer name, mobile number,
+ * city and machine model
+ *
+ * The index only narrows a search down to candidate ids; the database query still
+ * applies the original LIKE filters to those rows, so results are always exact.
+ * Kept current from committed ComplaintChangedEvents and rebuilt at startup.
+ */
+@Component
+public class ComplaintSearchIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintSearchIndex.class);
+    
+    private static final int GRAM_LENGTH = 3;
+    
+    /**
+     * Indexed fields, each with its own term prefix
+     */
+    public enum Field {
+        CUSTOMER_NAME('n'),
+        MOBILE_NUMBER('m'),
+        CITY('c'),
+        MACHINE_MODEL('k');
+        
+        private final char prefix;
+        
+        Field(char prefix) {
+            this.prefix = prefix;
+        }
+    }
+    
+    @Autowired
+    private ComplaintRepository complaintRepository;
+    
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> termsById = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready = false;
+    
+    /**
+     * Rebuild the whole index from the database
+     * Holds the write lock while loading so concurrent change events apply afterwards
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsById.clear();
+            List<ComplaintSnapshot> snapshots = complaintRepository.findAllSnapshots();
+            for (ComplaintSnapshot snapshot : snapshots) {
+                put(snapshot);
+            }
+            ready = true;
+            logger.info("Complaint search index built: {} complaints, {} terms in {} ms",
+                    termsById.size(), postings.size(), System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Apply a committed complaint change
+     */
+    @TransactionalEventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getComplaintId());
+            if (event.getAfter() != null) {
+                put(event.getAfter());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Candidate ids for a combined search
+     * Each non-blank filter of at least three characters narrows the result; keyword
+     * matches any indexed field. Returns empty when no filter can use the index.
+     */
+    public Optional<Set<Long>> findCandidates(String customerName, String mobileNumber, String keyword) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Long> result = null;
+            if (isIndexable(customerName)) {
+                result = intersect(result, lookup(Field.CUSTOMER_NAME, customerName));
+            }
+            if (isIndexable(mobileNumber)) {
+                result = intersect(result, lookup(Field.MOBILE_NUMBER, mobileNumber));
+            }
+            if (isIndexable(keyword)) {
+                Set<Long> anyField = new HashSet<>();
+                for (Field field : Field.values()) {
+                    anyField.addAll(lookup(field, keyword));
+                }
+                result = intersect(result, anyField);
+            }
+            return Optional.ofNullable(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private boolean isIndexable(String text) {
+        return text != null && text.trim().length() >= GRAM_LENGTH;
+    }
+    
+    private Set<Long> intersect(Set<Long> current, Set<Long> next) {
+        if (current == null) {
+            return next;
+        }
+        current.retainAll(next);
+        return current;
+    }
+    
+    /**
+     * Ids whose field contains every trigram of the text
+     */
+    private Set<Long> lookup(Field field, String text) {
+        Set<Long> result = null;
+        for (String term : terms(field, text)) {
+            Set<Long> ids = postings.get(term);
+            if (ids == null) {
+                return new HashSet<>();
+            }
+            if (result == null) {
+                result = new HashSet<>(ids);
+            } else {
+                result.retainAll(ids);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result != null ? result : new HashSet<>();
+    }
+    
+    private void put(ComplaintSnapshot snapshot) {
+        Set<String> terms = new HashSet<>();
+        terms.addAll(terms(Field.CUSTOMER_NAME, snapshot.customerName()));
+        terms.addAll(terms(Field.MOBILE_NUMBER, snapshot.mobileNumber()));
+        terms.addAll(terms(Field.CITY, snapshot.city()));
+        terms.addAll(terms(Field.MACHINE_MODEL, snapshot.machineNameModel()));
+        for (String term : terms) {
+            postings.computeIfAbsent(term, t -> new HashSet<>()).add(snapshot.id());
+        }
+        termsById.put(snapshot.id(), terms);
+    }
+    
+    private void remove(Long id) {
+        Set<String> terms = termsById.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Prefixed trigrams of the normalized text
+     */
+    private static Set<String> terms(Field field, String text) {
+        Set<String> terms = new HashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        String normalized = text.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            terms.add(field.prefix + normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return terms;
+    }
+}
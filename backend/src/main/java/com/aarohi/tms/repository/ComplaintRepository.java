@@ -1,19 +1,32 @@
 package com.aarohi.tms.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.aarohi.tms.dto.ComplaintSnapshot;
+import com.aarohi.tms.dto.ComplaintSummary;
+import com.aarohi.tms.dto.StaffScheduleCount;
+import com.aarohi.tms.dto.StatusPriorityCount;
 import com.aarohi.tms.entity.Complaint;
 import com.aarohi.tms.entity.ComplaintType;
 import com.aarohi.tms.entity.Priority;
 import com.aarohi.tms.entity.Status;
 import com.aarohi.tms.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for Complaint entity
  * Provides database operations for complaint management
@@ -21,6 +34,21 @@ import com.aarohi.tms.entity.User;
 @Repository
 public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     
+    /**
+     * Select clause shared by the list-screen projection queries
+     */
+    String SUMMARY_SELECT = "SELECT new com.aarohi.tms.dto.ComplaintSummary(" +
+            "c.id, c.customerName, c.mobileNumber, c.city, c.status, c.priority, c.complaintType, " +
+            "c.createdDate, c.scheduledDate, s.id, s.fullName, c.expenseTotal, c.expenseCount) " +
+            "FROM Complaint c LEFT JOIN c.assignedStaff s ";
+    
+    /**
+     * Select clause shared by the in-memory index snapshot queries
+     */
+    String SNAPSHOT_SELECT = "SELECT new com.aarohi.tms.dto.ComplaintSnapshot(" +
+            "c.id, c.customerName, c.mobileNumber, c.city, c.machineNameModel, c.status, c.priority, " +
+            "s.id, c.scheduledDate, c.updatedDate) FROM Complaint c LEFT JOIN c.assignedStaff s ";
+    
     /**
      * Find complaints by mobile number
      */
@@ -88,6 +116,13 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     @Query("SELECT COUNT(c) FROM Complaint c WHERE c.priority = :priority")
     Long countByPriority(@Param("priority") Priority priority);
     
+    /**
+     * Count complaints grouped by status and priority
+     */
+    @Query("SELECT new com.aarohi.tms.dto.StatusPriorityCount(c.status, c.priority, COUNT(c)) " +
+           "FROM Complaint c GROUP BY c.status, c.priority")
+    List<StatusPriorityCount> countGroupedByStatusAndPriority();
+    
     /**
      * Count complaints assigned to staff
      */
@@ -107,18 +142,43 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     List<Complaint> findHighPriorityOpenComplaints();
     
     /**
-     * Search complaints by multiple criteria
+     * Filter clause shared by the complaint search queries
      */
-    @Query("SELECT c FROM Complaint c WHERE " +
+    String SEARCH_FILTER =
            "(:customerName IS NULL OR LOWER(c.customerName) LIKE LOWER(CONCAT('%', :customerName, '%'))) AND " +
            "(:mobileNumber IS NULL OR c.mobileNumber LIKE CONCAT('%', :mobileNumber, '%')) AND " +
+           "(:keyword IS NULL OR LOWER(c.customerName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "c.mobileNumber LIKE CONCAT('%', :keyword, '%') OR " +
+           "LOWER(c.city) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(c.machineNameModel) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
            "(:status IS NULL OR c.status = :status) AND " +
            "(:priority IS NULL OR c.priority = :priority) AND " +
            "(:complaintType IS NULL OR c.complaintType = :complaintType) AND " +
-           "(:assignedStaffId IS NULL OR c.assignedStaff.id = :assignedStaffId)")
+           "(:assignedStaffId IS NULL OR c.assignedStaff.id = :assignedStaffId)";
+    
+    /**
+     * Search complaints by multiple criteria
+     */
+    @Query("SELECT c FROM Complaint c WHERE " + SEARCH_FILTER)
     List<Complaint> searchComplaints(
             @Param("customerName") String customerName,
             @Param("mobileNumber") String mobileNumber,
+            @Param("keyword") String keyword,
+            @Param("status") Status status,
+            @Param("priority") Priority priority,
+            @Param("complaintType") ComplaintType complaintType,
+            @Param("assignedStaffId") Long assignedStaffId
+    );
+    
+    /**
+     * Search complaints by multiple criteria, restricted to candidate ids from the search index
+     */
+    @Query("SELECT c FROM Complaint c WHERE c.id IN :ids AND " + SEARCH_FILTER)
+    List<Complaint> searchComplaintsByIdIn(
+            @Param("ids") Collection<Long> ids,
+            @Param("customerName") String customerName,
+            @Param("mobileNumber") String mobileNumber,
+            @Param("keyword") String keyword,
             @Param("status") Status status,
             @Param("priority") Priority priority,
             @Param("complaintType") ComplaintType complaintType,
@@ -130,6 +190,17 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
      */
     List<Complaint> findByMobileNumberAndStatusNot(String mobileNumber, Status status);
     
+    /**
+     * Find complaints among ids by mobile number excluding specific status
+     * Re-checks active complaint index hits, which may be stale
+     */
+    List<Complaint> findByIdInAndMobileNumberAndStatusNot(Collection<Long> ids, String mobileNumber, Status status);
+    
+    /**
+     * Check complaints among ids by mobile number excluding specific status
+     */
+    boolean existsByIdInAndMobileNumberAndStatusNot(Collection<Long> ids, String mobileNumber, Status status);
+    
     /**
      * Find complaints by assigned staff and schedule date range
      */
@@ -145,4 +216,157 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
      */
     @Query("SELECT c FROM Complaint c WHERE c.assignedStaff.id = :staffId AND c.scheduledDate IS NOT NULL ORDER BY c.scheduledDate ASC")
     List<Complaint> findScheduledComplaintsByStaffId(@Param("staffId") Long staffId);
+    
+    /**
+     * Keyset page: first page, newest first
+     */
+    @Query("SELECT c FROM Complaint c ORDER BY c.createdDate DESC, c.id DESC")
+    List<Complaint> findKeysetFirstPageDesc(Pageable pageable);
+    
+    /**
+     * Keyset page: rows after (createdDate, id), newest first
+     */
+    @Query("SELECT c FROM Complaint c WHERE c.createdDate < :createdDate OR " +
+           "(c.createdDate = :createdDate AND c.id < :id) ORDER BY c.createdDate DESC, c.id DESC")
+    List<Complaint> findKeysetPageDesc(@Param("createdDate") LocalDateTime createdDate,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+    
+    /**
+     * Keyset page: first page, oldest first
+     */
+    @Query("SELECT c FROM Complaint c ORDER BY c.createdDate ASC, c.id ASC")
+    List<Complaint> findKeysetFirstPageAsc(Pageable pageable);
+    
+    /**
+     * Keyset page: rows after (createdDate, id), oldest first
+     */
+    @Query("SELECT c FROM Complaint c WHERE c.createdDate > :createdDate OR " +
+           "(c.createdDate = :createdDate AND c.id > :id) ORDER BY c.createdDate ASC, c.id ASC")
+    List<Complaint> findKeysetPageAsc(@Param("createdDate") LocalDateTime createdDate,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+    
+    /**
+     * Delta sync: first page of complaints modified after a point in time, oldest change first
+     */
+    @Query("SELECT c FROM Complaint c WHERE c.updatedDate > :since ORDER BY c.updatedDate ASC, c.id ASC")
+    List<Complaint> findChangedSince(@Param("since") LocalDateTime since, Pageable pageable);
+    
+    /**
+     * Delta sync: complaints after (updatedDate, id), oldest change first
+     */
+    @Query("SELECT c FROM Complaint c WHERE c.updatedDate > :updatedDate OR " +
+           "(c.updatedDate = :updatedDate AND c.id > :id) ORDER BY c.updatedDate ASC, c.id ASC")
+    List<Complaint> findChangedAfter(@Param("updatedDate") LocalDateTime updatedDate,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+    
+    /**
+     * Delta sync for one staff member: first page of their complaints modified after a point in time
+     */
+    @Query("SELECT c FROM Complaint c WHERE c.assignedStaff.id = :staffId AND c.updatedDate > :since " +
+           "ORDER BY c.updatedDate ASC, c.id ASC")
+    List<Complaint> findChangedSinceByStaffId(@Param("staffId") Long staffId,
+                                              @Param("since") LocalDateTime since,
+                                              Pageable pageable);
+    
+    /**
+     * Delta sync for one staff member: their complaints after (updatedDate, id)
+     */
+    @Query("SELECT c FROM Complaint c WHERE c.assignedStaff.id = :staffId AND (c.updatedDate > :updatedDate OR " +
+           "(c.updatedDate = :updatedDate AND c.id > :id)) ORDER BY c.updatedDate ASC, c.id ASC")
+    List<Complaint> findChangedAfterByStaffId(@Param("staffId") Long staffId,
+                                              @Param("updatedDate") LocalDateTime updatedDate,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+    
+    /**
+     * Find all complaint summaries
+     */
+    @Query(SUMMARY_SELECT)
+    List<ComplaintSummary> findAllSummaries();
+    
+    /**
+     * Find complaint summaries by status
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.status = :status")
+    List<ComplaintSummary> findSummariesByStatus(@Param("status") Status status);
+    
+    /**
+     * Find recent complaint summaries (last 30 days)
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.createdDate >= :thirtyDaysAgo ORDER BY c.createdDate DESC")
+    List<ComplaintSummary> findRecentSummaries(@Param("thirtyDaysAgo") LocalDateTime thirtyDaysAgo);
+    
+    /**
+     * Find complaint summaries by assigned staff ID
+     */
+    @Query(SUMMARY_SELECT + "WHERE s.id = :staffId")
+    List<ComplaintSummary> findSummariesByAssignedStaffId(@Param("staffId") Long staffId);
+    
+    /**
+     * Count scheduled complaints per staff, status and day within date range
+     */
+    @Query("SELECT new com.aarohi.tms.dto.StaffScheduleCount(s.id, s.fullName, c.status, " +
+           "CAST(c.scheduledDate AS LocalDate), COUNT(c)) " +
+           "FROM Complaint c JOIN c.assignedStaff s " +
+           "WHERE c.scheduledDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY s.id, s.fullName, c.status, CAST(c.scheduledDate AS LocalDate)")
+    List<StaffScheduleCount> countScheduledByStaffStatusAndDay(@Param("startDate") LocalDateTime startDate,
+                                                               @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Stream all complaints with assigned staff through a server-side cursor (for exports)
+     * Must be consumed inside a transaction and closed by the caller
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Complaint c LEFT JOIN FETCH c.assignedStaff ORDER BY c.id")
+    Stream<Complaint> streamAllWithAssignedStaff();
+    
+    /**
+     * Find snapshots of all complaints (used to build in-memory indexes)
+     */
+    @Query(SNAPSHOT_SELECT)
+    List<ComplaintSnapshot> findAllSnapshots();
+    
+    /**
+     * Find snapshots of complaints excluding specific status
+     */
+    @Query(SNAPSHOT_SELECT + "WHERE c.status <> :status")
+    List<ComplaintSnapshot> findSnapshotsByStatusNot(@Param("status") Status status);
+    
+    /**
+     * Add an expense delta to a complaint's rollup columns
+     * Also bumps updatedDate, so delta sync clients pick up the new cost
+     */
+    @Modifying
+    @Query("UPDATE Complaint c SET c.expenseTotal = c.expenseTotal + :amount, " +
+           "c.expenseCount = c.expenseCount + :count, c.updatedDate = :now WHERE c.id = :id")
+    int addExpenseDelta(@Param("id") Long id, @Param("count") long count,
+                        @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+    
+    /**
+     * Get the expense rollup total of a complaint
+     */
+    @Query("SELECT c.expenseTotal FROM Complaint c WHERE c.id = :id")
+    BigDecimal findExpenseTotalById(@Param("id") Long id);
+    
+    /**
+     * Recompute expense rollups that drifted from the expenses table
+     * Declares the complaints space so only that cache region is invalidated
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "complaints"))
+    @Query(value = "UPDATE complaints c " +
+                   "SET expense_total = COALESCE((SELECT SUM(e.amount) FROM expenses e WHERE e.complaint_id = c.id), 0), " +
+                   "expense_count = (SELECT COUNT(*) FROM expenses e WHERE e.complaint_id = c.id), " +
+                   "updated_date = :now " +
+                   "WHERE expense_total <> COALESCE((SELECT SUM(e.amount) FROM expenses e WHERE e.complaint_id = c.id), 0) " +
+                   "OR expense_count <> (SELECT COUNT(*) FROM expenses e WHERE e.complaint_id = c.id)",
+           nativeQuery = true)
+    int repairExpenseRollups(@Param("now") LocalDateTime now);
 }
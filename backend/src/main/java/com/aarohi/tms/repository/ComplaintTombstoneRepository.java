@@ -0,0 +1,44 @@
+package com.aarohi.tms.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.aarohi.tms.entity.ComplaintTombstone;
+import com.aarohi.tms.entity.ComplaintTombstone.Reason;
+
+/**
+ * Repository interface for ComplaintTombstone entity
+ * Feeds the removals half of the complaint delta sync
+ */
+@Repository
+public interface ComplaintTombstoneRepository extends JpaRepository<ComplaintTombstone, Long> {
+    
+    /**
+     * Find tombstones of one reason recorded after a point in time
+     */
+    @Query("SELECT t FROM ComplaintTombstone t WHERE t.reason = :reason AND t.removedAt > :since " +
+           "ORDER BY t.removedAt, t.id")
+    List<ComplaintTombstone> findByReasonSince(@Param("reason") Reason reason,
+                                               @Param("since") LocalDateTime since);
+    
+    /**
+     * Find tombstones for a staff member recorded after a point in time
+     */
+    @Query("SELECT t FROM ComplaintTombstone t WHERE t.staffId = :staffId AND t.removedAt > :since " +
+           "ORDER BY t.removedAt, t.id")
+    List<ComplaintTombstone> findByStaffIdSince(@Param("staffId") Long staffId,
+                                                @Param("since") LocalDateTime since);
+    
+    /**
+     * Delete tombstones older than the retention horizon
+     */
+    @Modifying
+    @Query("DELETE FROM ComplaintTombstone t WHERE t.removedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
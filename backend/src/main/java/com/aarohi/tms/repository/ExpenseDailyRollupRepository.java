@@ -0,0 +1,66 @@
+package com.aarohi.tms.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.aarohi.tms.dto.ExpenseRollupRow;
+import com.aarohi.tms.entity.ExpenseDailyRollup;
+import com.aarohi.tms.entity.ExpenseDailyRollup.Dimension;
+import com.aarohi.tms.entity.ExpenseDailyRollup.Source;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repository interface for ExpenseDailyRollup entity
+ * Provides the upserts and range reads behind expense analytics
+ */
+@Repository
+public interface ExpenseDailyRollupRepository extends JpaRepository<ExpenseDailyRollup, ExpenseDailyRollup.Key> {
+    
+    /**
+     * Add a count and amount delta to one daily rollup, creating the row if needed
+     * The native spaces hint limits second-level cache invalidation to this table;
+     * without it Hibernate evicts every cached entity on each upsert
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "expense_daily_rollups"))
+    @Query(value = "INSERT INTO expense_daily_rollups (source, dimension, expense_day, group_key, expense_count, total_amount) " +
+                   "VALUES (:source, :dimension, :day, :groupKey, :count, :amount) " +
+                   "ON DUPLICATE KEY UPDATE expense_count = expense_count + :count, " +
+                   "total_amount = total_amount + :amount", nativeQuery = true)
+    int addDelta(@Param("source") String source, @Param("dimension") String dimension,
+                 @Param("day") LocalDate day, @Param("groupKey") String groupKey,
+                 @Param("count") long count, @Param("amount") BigDecimal amount);
+    
+    /**
+     * Non-empty rollups of one breakdown between two days (inclusive), ordered by day
+     */
+    @Query("SELECT new com.aarohi.tms.dto.ExpenseRollupRow(r.expenseDay, r.groupKey, r.expenseCount, r.totalAmount) " +
+           "FROM ExpenseDailyRollup r WHERE r.source = :source AND r.dimension = :dimension " +
+           "AND r.expenseDay BETWEEN :from AND :to AND r.expenseCount > 0 ORDER BY r.expenseDay, r.groupKey")
+    List<ExpenseRollupRow> findRows(@Param("source") Source source, @Param("dimension") Dimension dimension,
+                                    @Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    /**
+     * Every rollup of one breakdown, for reconciliation
+     */
+    @Query("SELECT new com.aarohi.tms.dto.ExpenseRollupRow(r.expenseDay, r.groupKey, r.expenseCount, r.totalAmount) " +
+           "FROM ExpenseDailyRollup r WHERE r.source = :source AND r.dimension = :dimension")
+    List<ExpenseRollupRow> findAllRows(@Param("source") Source source, @Param("dimension") Dimension dimension);
+    
+    /**
+     * Delete rollups left at zero by deletes and moves
+     */
+    @Modifying
+    @Query("DELETE FROM ExpenseDailyRollup r WHERE r.expenseCount = 0 AND r.totalAmount = 0")
+    int deleteEmptyRows();
+}
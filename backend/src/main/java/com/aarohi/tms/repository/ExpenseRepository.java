@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.aarohi.tms.dto.ExpenseRollupRow;
 import com.aarohi.tms.entity.Complaint;
 import com.aarohi.tms.entity.Expense;
 import com.aarohi.tms.entity.User;
@@ -73,4 +74,37 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
      */
     @Query("SELECT COUNT(e) FROM Expense e WHERE e.complaint.id = :complaintId")
     Long countByComplaintId(@Param("complaintId") Long complaintId);
+    
+    /**
+     * Expense count and amount per day, for reconciling the daily rollups
+     */
+    @Query("SELECT new com.aarohi.tms.dto.ExpenseRollupRow(cast(e.expenseDate as LocalDate), '', COUNT(e), SUM(e.amount)) " +
+           "FROM Expense e WHERE e.expenseDate IS NOT NULL GROUP BY cast(e.expenseDate as LocalDate)")
+    List<ExpenseRollupRow> sumDaily();
+    
+    /**
+     * Expense count and amount per day and adding user
+     */
+    @Query("SELECT new com.aarohi.tms.dto.ExpenseRollupRow(cast(e.expenseDate as LocalDate), " +
+           "COALESCE(cast(e.addedBy.id as String), ''), COUNT(e), SUM(e.amount)) " +
+           "FROM Expense e WHERE e.expenseDate IS NOT NULL GROUP BY cast(e.expenseDate as LocalDate), e.addedBy.id")
+    List<ExpenseRollupRow> sumDailyByUser();
+    
+    /**
+     * Expense count and amount per day and vendor (see ExpenseDailyRollup.vendorKey)
+     */
+    @Query("SELECT new com.aarohi.tms.dto.ExpenseRollupRow(cast(e.expenseDate as LocalDate), " +
+           "LOWER(TRIM(COALESCE(e.vendorName, ''))), COUNT(e), SUM(e.amount)) " +
+           "FROM Expense e WHERE e.expenseDate IS NOT NULL " +
+           "GROUP BY cast(e.expenseDate as LocalDate), LOWER(TRIM(COALESCE(e.vendorName, '')))")
+    List<ExpenseRollupRow> sumDailyByVendor();
+    
+    /**
+     * Expense count and amount per day and complaint type
+     */
+    @Query("SELECT new com.aarohi.tms.dto.ExpenseRollupRow(cast(e.expenseDate as LocalDate), " +
+           "COALESCE(cast(c.complaintType as String), ''), COUNT(e), SUM(e.amount)) " +
+           "FROM Expense e JOIN e.complaint c WHERE e.expenseDate IS NOT NULL " +
+           "GROUP BY cast(e.expenseDate as LocalDate), c.complaintType")
+    List<ExpenseRollupRow> sumDailyByComplaintType();
 }
@@ -0,0 +1,75 @@
+package com.aarohi.tms.repository;
+
+import java.math.BigDecimal;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.aarohi.tms.dto.ExpenseTotals;
+import com.aarohi.tms.entity.ExpenseRunningTotal;
+import com.aarohi.tms.entity.ExpenseRunningTotal.Scope;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repository interface for ExpenseRunningTotal entity
+ * Provides the upserts and sums behind expense statistics
+ */
+@Repository
+public interface ExpenseRunningTotalRepository extends JpaRepository<ExpenseRunningTotal, ExpenseRunningTotal.Key> {
+    
+    /**
+     * Add a count and amount delta to one running total, creating the row if needed
+     * The native spaces hint limits second-level cache invalidation to this table;
+     * without it Hibernate evicts every cached entity on each upsert
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "expense_running_totals"))
+    @Query(value = "INSERT INTO expense_running_totals (scope, scope_key, expense_count, total_amount) " +
+                   "VALUES (:scope, :scopeKey, :count, :amount) " +
+                   "ON DUPLICATE KEY UPDATE expense_count = expense_count + :count, " +
+                   "total_amount = total_amount + :amount", nativeQuery = true)
+    int addDelta(@Param("scope") String scope, @Param("scopeKey") long scopeKey,
+                 @Param("count") long count, @Param("amount") BigDecimal amount);
+    
+    /**
+     * Sum the running totals of one scope with a key of at least fromKey
+     */
+    @Query("SELECT new com.aarohi.tms.dto.ExpenseTotals(COALESCE(SUM(t.expenseCount), 0), COALESCE(SUM(t.totalAmount), 0)) " +
+           "FROM ExpenseRunningTotal t WHERE t.scope = :scope AND t.scopeKey >= :fromKey")
+    ExpenseTotals sumFrom(@Param("scope") Scope scope, @Param("fromKey") long fromKey);
+    
+    /**
+     * Delete all running totals
+     */
+    @Modifying
+    @Query("DELETE FROM ExpenseRunningTotal t")
+    int deleteAllTotals();
+    
+    /**
+     * Recompute the per-day totals from the expenses table
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "expense_running_totals"))
+    @Query(value = "INSERT INTO expense_running_totals (scope, scope_key, expense_count, total_amount) " +
+                   "SELECT 'DAY', COALESCE(YEAR(expense_date) * 10000 + MONTH(expense_date) * 100 + DAYOFMONTH(expense_date), 0), " +
+                   "COUNT(*), SUM(amount) FROM expenses " +
+                   "GROUP BY COALESCE(YEAR(expense_date) * 10000 + MONTH(expense_date) * 100 + DAYOFMONTH(expense_date), 0)",
+           nativeQuery = true)
+    int rebuildDayTotals();
+    
+    /**
+     * Recompute the per-user totals from the expenses table
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "expense_running_totals"))
+    @Query(value = "INSERT INTO expense_running_totals (scope, scope_key, expense_count, total_amount) " +
+                   "SELECT 'USER', added_by_user_id, COUNT(*), SUM(amount) FROM expenses " +
+                   "WHERE added_by_user_id IS NOT NULL GROUP BY added_by_user_id", nativeQuery = true)
+    int rebuildUserTotals();
+}
@@ -1,6 +1,5 @@
 package com.aarohi.tms.repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -9,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.aarohi.tms.dto.ExpenseRollupRow;
+import com.aarohi.tms.dto.StaffExpenseBalance;
 import com.aarohi.tms.entity.StaffExpense;
 
 /**
@@ -17,6 +18,18 @@ import com.aarohi.tms.entity.StaffExpense;
 @Repository
 public interface StaffExpenseRepository extends JpaRepository<StaffExpense, Long> {
     
+    /**
+     * Select clause computing every balance figure in one pass (conditional aggregation)
+     */
+    String BALANCE_SELECT = "SELECT new com.aarohi.tms.dto.StaffExpenseBalance(se.staffUser.id, " +
+            "COALESCE(SUM(se.amount), 0), " +
+            "COALESCE(SUM(CASE WHEN se.isPaidByCompany = false THEN se.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN se.isPaidByCompany = true THEN se.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN se.isPaidByCompany = false THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN se.isPaidByCompany = true THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN se.isPaidByCompany = false THEN COALESCE(se.advancePaid, 0) ELSE 0 END), 0)) " +
+            "FROM StaffExpense se ";
+    
     // Find all staff expenses by staff user ID
     List<StaffExpense> findByStaffUserIdOrderByCreatedAtDesc(Long staffUserId);
     
@@ -26,18 +39,6 @@ public interface StaffExpenseRepository extends JpaRepository<StaffExpense, Long
     // Find paid staff expenses by staff user ID
     List<StaffExpense> findByStaffUserIdAndIsPaidByCompanyTrueOrderByPaidDateDesc(Long staffUserId);
     
-    // Calculate total unpaid amount for a staff user
-    @Query("SELECT COALESCE(SUM(se.amount), 0) FROM StaffExpense se WHERE se.staffUser.id = :staffUserId AND se.isPaidByCompany = false")
-    BigDecimal getTotalUnpaidAmountByStaffUserId(@Param("staffUserId") Long staffUserId);
-    
-    // Calculate total paid amount for a staff user
-    @Query("SELECT COALESCE(SUM(se.amount), 0) FROM StaffExpense se WHERE se.staffUser.id = :staffUserId AND se.isPaidByCompany = true")
-    BigDecimal getTotalPaidAmountByStaffUserId(@Param("staffUserId") Long staffUserId);
-    
-    // Calculate total amount for a staff user
-    @Query("SELECT COALESCE(SUM(se.amount), 0) FROM StaffExpense se WHERE se.staffUser.id = :staffUserId")
-    BigDecimal getTotalAmountByStaffUserId(@Param("staffUserId") Long staffUserId);
-    
     // Find all unpaid staff expenses (Admin view)
     List<StaffExpense> findByIsPaidByCompanyFalseOrderByCreatedAtDesc();
     
@@ -47,9 +48,22 @@ public interface StaffExpenseRepository extends JpaRepository<StaffExpense, Long
     // Find staff expenses by complaint number
     List<StaffExpense> findByComplaintNumberContainingIgnoreCaseOrderByCreatedAtDesc(String complaintNumber);
     
-    // Count unpaid expenses for a staff user
-    long countByStaffUserIdAndIsPaidByCompanyFalse(Long staffUserId);
+    // Balance of one staff user, null when they have no expenses
+    @Query(BALANCE_SELECT + "WHERE se.staffUser.id = :staffUserId GROUP BY se.staffUser.id")
+    StaffExpenseBalance findBalanceByStaffUserId(@Param("staffUserId") Long staffUserId);
+    
+    // Balances of every staff user with expenses
+    @Query(BALANCE_SELECT + "GROUP BY se.staffUser.id ORDER BY se.staffUser.id")
+    List<StaffExpenseBalance> findAllBalances();
+    
+    // Staff expense count and amount per day, for reconciling the daily rollups
+    @Query("SELECT new com.aarohi.tms.dto.ExpenseRollupRow(cast(se.expenseDate as LocalDate), '', COUNT(se), SUM(se.amount)) " +
+           "FROM StaffExpense se WHERE se.expenseDate IS NOT NULL GROUP BY cast(se.expenseDate as LocalDate)")
+    List<ExpenseRollupRow> sumDaily();
     
-    // Count paid expenses for a staff user
-    long countByStaffUserIdAndIsPaidByCompanyTrue(Long staffUserId);
+    // Staff expense count and amount per day and staff user
+    @Query("SELECT new com.aarohi.tms.dto.ExpenseRollupRow(cast(se.expenseDate as LocalDate), " +
+           "COALESCE(cast(se.staffUser.id as String), ''), COUNT(se), SUM(se.amount)) " +
+           "FROM StaffExpense se WHERE se.expenseDate IS NOT NULL GROUP BY cast(se.expenseDate as LocalDate), se.staffUser.id")
+    List<ExpenseRollupRow> sumDailyByStaff();
 }
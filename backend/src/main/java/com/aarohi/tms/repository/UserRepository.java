@@ -3,14 +3,19 @@ package com.aarohi.tms.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.aarohi.tms.dto.UserTokenState;
 import com.aarohi.tms.entity.Role;
 import com.aarohi.tms.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for User entity
  * Provides database operations for user management
@@ -18,6 +23,16 @@ import com.aarohi.tms.entity.User;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    /**
+     * Query cache region for user lookups; Hibernate invalidates it on any write to users
+     */
+    String USER_QUERY_REGION = "user-queries";
+    
+    /**
+     * Select clause shared by the token version queries
+     */
+    String TOKEN_STATE_SELECT = "SELECT new com.aarohi.tms.dto.UserTokenState(u.id, u.tokenVersion, u.isActive) FROM User u ";
+    
     /**
      * Find user by username
      */
@@ -51,6 +66,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     /**
      * Find all users by role
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = USER_QUERY_REGION)
+    })
     List<User> findByRole(Role role);
     
     /**
@@ -62,6 +81,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Find all active staff members
      */
     @Query("SELECT u FROM User u WHERE u.role = 'STAFF' AND u.isActive = true")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = USER_QUERY_REGION)
+    })
     List<User> findActiveStaffMembers();
     
     /**
@@ -69,4 +92,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role AND u.isActive = true")
     Long countActiveUsersByRole(@Param("role") Role role);
+    
+    /**
+     * Token version and active flag of every user, for the in-memory version table
+     */
+    @Query(TOKEN_STATE_SELECT)
+    List<UserTokenState> findAllTokenStates();
+    
+    /**
+     * Token version and active flag of one user
+     */
+    @Query(TOKEN_STATE_SELECT + "WHERE u.id = :id")
+    Optional<UserTokenState> findTokenStateById(@Param("id") Long id);
 }
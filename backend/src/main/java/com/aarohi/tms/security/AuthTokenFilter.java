@@ -12,6 +12,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,19 +27,27 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
     
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private UserPrincipalCache userPrincipalCache;
+    
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+    
+    @Autowired
+    private StreamTicketRegistry streamTicketRegistry;
     
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
     
+    private static final String STREAM_PATH = "/complaints/stream";
+    private static final String STREAM_TICKET_PARAM = "ticket";
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                    FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = jwt != null ? jwtUtils.parseClaims(jwt) : null;
+            UserDetails userDetails = claims != null ? resolvePrincipal(claims) : resolveStreamTicket(request);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -52,6 +61,43 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * Principal for a verified token, or null when the token has been revoked
+     * Current tokens are trusted as-is while their version matches; legacy tokens
+     * with only a subject fall back to the cached user lookup
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        UserPrincipal principal = jwtUtils.getPrincipalFromClaims(claims);
+        if (principal == null) {
+            return userPrincipalCache.get(claims.getSubject());
+        }
+        if (!tokenVersionRegistry.isCurrent(principal.getId(), principal.getTokenVersion())) {
+            logger.debug("Rejected revoked token for user {}", principal.getUsername());
+            return null;
+        }
+        return principal;
+    }
+    
+    /**
+     * Principal for a stream ticket, or null when there is none or it is used, expired or revoked
+     * Only the complaint stream takes a ticket, since EventSource cannot send headers; the JWT
+     * itself never goes in a URL
+     */
+    private UserDetails resolveStreamTicket(HttpServletRequest request) {
+        if (!STREAM_PATH.equals(request.getServletPath())) {
+            return null;
+        }
+        String ticket = request.getParameter(STREAM_TICKET_PARAM);
+        if (!StringUtils.hasText(ticket)) {
+            return null;
+        }
+        UserPrincipal principal = streamTicketRegistry.redeem(ticket);
+        if (principal == null || !tokenVersionRegistry.isCurrent(principal.getId(), principal.getTokenVersion())) {
+            return null;
+        }
+        return principal;
+    }
+    
     /**
      * Parse JWT token from request header
      */
@@ -0,0 +1,80 @@
+package com.aarohi.tms.security;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived, single-use tickets that open the complaint stream
+ *
+ * EventSource cannot send an Authorization header, so the client trades its JWT for a
+ * ticket with an authenticated POST and puts only the ticket in the stream URL. A ticket
+ * is removed when redeemed and expires after app.stream.ticket-ttl-ms, so one copied from
+ * an access log, proxy log or browser history is already useless.
+ */
+@Component
+public class StreamTicketRegistry {
+    
+    private static final int TICKET_BYTES = 32;
+    
+    @Value("${app.stream.ticket-ttl-ms:30000}")
+    private long ticketTtlMs;
+    
+    @Value("${app.stream.max-tickets:1000}")
+    private int maxTickets;
+    
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    
+    /**
+     * Issue a ticket for an authenticated user
+     */
+    public String issue(UserPrincipal principal) {
+        if (tickets.size() >= maxTickets) {
+            purgeExpired();
+            if (tickets.size() >= maxTickets) {
+                throw new IllegalStateException("Too many pending stream tickets");
+            }
+        }
+        byte[] bytes = new byte[TICKET_BYTES];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(ticket, new Ticket(principal, System.currentTimeMillis() + ticketTtlMs));
+        return ticket;
+    }
+    
+    /**
+     * Redeem a ticket, returning its user, or null when it is unknown, used or expired
+     */
+    public UserPrincipal redeem(String ticket) {
+        Ticket redeemed = tickets.remove(ticket);
+        if (redeemed == null || redeemed.expiresAt() < System.currentTimeMillis()) {
+            return null;
+        }
+        return redeemed.principal();
+    }
+    
+    /**
+     * Seconds a new ticket stays valid
+     */
+    public long getTicketTtlSeconds() {
+        return ticketTtlMs / 1000;
+    }
+    
+    /**
+     * Drop tickets that were never redeemed
+     */
+    @Scheduled(fixedRateString = "${app.stream.ticket-ttl-ms:30000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(ticket -> ticket.expiresAt() < now);
+    }
+    
+    private record Ticket(UserPrincipal principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.aarohi.tms.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aarohi.tms.dto.UserTokenState;
+import com.aarohi.tms.event.UserChangedEvent;
+import com.aarohi.tms.repository.UserRepository;
+
+/**
+ * In-memory table of the current token version of every active user
+ *
+ * Lets AuthTokenFilter trust the claims of a token without loading the user: a token
+ * is accepted only while its "ver" claim matches. Deactivated and deleted users have
+ * no entry, so their tokens are rejected as soon as the change commits.
+ */
+@Component
+public class TokenVersionRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionRegistry.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private volatile Map<Long, Integer> versions = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+    
+    /**
+     * Load versions of all active users
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, Integer> loaded = new HashMap<>();
+        for (UserTokenState state : userRepository.findAllTokenStates()) {
+            if (Boolean.TRUE.equals(state.isActive())) {
+                loaded.put(state.id(), state.tokenVersion());
+            }
+        }
+        versions = new ConcurrentHashMap<>(loaded);
+        ready = true;
+        logger.info("Token version table loaded: {} active users", loaded.size());
+    }
+    
+    /**
+     * Reload one user's entry once a change has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        Long userId = event.getUserId();
+        userRepository.findTokenStateById(userId)
+                .filter(state -> Boolean.TRUE.equals(state.isActive()))
+                .ifPresentOrElse(state -> versions.put(userId, state.tokenVersion()),
+                                 () -> versions.remove(userId));
+    }
+    
+    /**
+     * Whether a token carrying this user id and version is still valid
+     * Checks the database directly until the table has been loaded
+     */
+    public boolean isCurrent(Long userId, int version) {
+        if (!ready) {
+            return userRepository.findTokenStateById(userId)
+                    .filter(state -> Boolean.TRUE.equals(state.isActive()))
+                    .filter(state -> state.tokenVersion() == version)
+                    .isPresent();
+        }
+        Integer current = versions.get(userId);
+        return current != null && current == version;
+    }
+}
@@ -28,15 +28,24 @@ public class UserPrincipal implements UserDetails {
     
     private Collection<? extends GrantedAuthority> authorities;
     
-    // Constructor
+    @JsonIgnore
+    private int tokenVersion;
+    
+    // Constructors
     public UserPrincipal(Long id, String username, String email, String fullName, String password,
                         Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, email, fullName, password, authorities, 0);
+    }
+    
+    public UserPrincipal(Long id, String username, String email, String fullName, String password,
+                        Collection<? extends GrantedAuthority> authorities, int tokenVersion) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.fullName = fullName;
         this.password = password;
         this.authorities = authorities;
+        this.tokenVersion = tokenVersion;
     }
     
     /**
@@ -53,8 +62,21 @@ public class UserPrincipal implements UserDetails {
                 user.getEmail(),
                 user.getFullName(),
                 user.getPassword(),
-                authorities
+                authorities,
+                user.getTokenVersion() != null ? user.getTokenVersion() : 0
+        );
+    }
+    
+    /**
+     * Build UserPrincipal from verified token claims, without loading the user
+     * Email, full name and password are not carried by the token
+     */
+    public static UserPrincipal fromClaims(Long id, String username, String role, int tokenVersion) {
+        List<GrantedAuthority> authorities = List.of(
+            new SimpleGrantedAuthority("ROLE_" + role)
         );
+        
+        return new UserPrincipal(id, username, null, null, null, authorities, tokenVersion);
     }
     
     @Override
@@ -114,4 +136,8 @@ public class UserPrincipal implements UserDetails {
     public String getFullName() {
         return fullName;
     }
+    
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
 }
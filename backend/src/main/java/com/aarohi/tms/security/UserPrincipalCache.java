@@ -0,0 +1,66 @@
+package com.aarohi.tms.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aarohi.tms.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Bounded, time-limited cache of authenticated principals keyed by username
+ *
+ * Saves AuthTokenFilter a user lookup on every request. Entries are dropped as soon
+ * as a user change commits; the TTL only bounds staleness for changes made outside
+ * UserService (e.g. direct SQL). Unknown usernames are never cached.
+ */
+@Component
+public class UserPrincipalCache {
+    
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    
+    @Value("${app.auth.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    @Value("${app.auth.principal-cache.max-size:1000}")
+    private long maxSize;
+    
+    private Cache<String, UserDetails> cache;
+    
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+    
+    /**
+     * Cached principal for the username, loading it on a miss
+     */
+    public UserDetails get(String username) throws UsernameNotFoundException {
+        return cache.get(username, userDetailsService::loadUserByUsername);
+    }
+    
+    /**
+     * Drop entries for a changed user once the change has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getPreviousUsername() != null) {
+            cache.invalidate(event.getPreviousUsername());
+        }
+        if (event.getUsername() != null) {
+            cache.invalidate(event.getUsername());
+        }
+    }
+}
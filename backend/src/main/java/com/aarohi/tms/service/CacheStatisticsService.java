@@ -0,0 +1,49 @@
+package com.aarohi.tms.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.aarohi.tms.dto.CacheRegionStats;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Reads Hibernate second-level cache statistics per region
+ * Counters are only collected when hibernate.generate_statistics is enabled
+ */
+@Service
+public class CacheStatisticsService {
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    /**
+     * Counters of every configured region, sorted by name
+     */
+    public List<CacheRegionStats> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        
+        List<CacheRegionStats> result = new ArrayList<>(regionNames.length);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            long hits = region.getHitCount();
+            long misses = region.getMissCount();
+            long lookups = hits + misses;
+            result.add(new CacheRegionStats(regionName, hits, misses, region.getPutCount(),
+                    lookups > 0 ? (double) hits / lookups : 0.0));
+        }
+        return result;
+    }
+}
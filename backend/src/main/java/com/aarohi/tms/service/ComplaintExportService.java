@@ -0,0 +1,131 @@
+package com.aarohi.tms.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aarohi.tms.dto.ComplaintExportRow;
+import com.aarohi.tms.entity.Complaint;
+import com.aarohi.tms.repository.ComplaintRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Service class for streaming complaint exports
+ * Rows are read through a server-side cursor and the persistence context is cleared
+ * after every chunk, so memory use does not grow with the table.
+ */
+@Service
+public class ComplaintExportService {
+    
+    private static final int CHUNK_SIZE = 500;
+    
+    // Leading characters that make spreadsheets treat a cell as a formula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    
+    /**
+     * Supported export formats
+     */
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+        
+        private final String contentType;
+        private final String extension;
+        
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+    }
+    
+    @Autowired
+    private ComplaintRepository complaintRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Write all complaints to the output stream, returns the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportComplaints(ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(writer, ComplaintExportRow.COLUMNS);
+        }
+        
+        long count = 0;
+        try (Stream<Complaint> complaints = complaintRepository.streamAllWithAssignedStaff()) {
+            Iterator<Complaint> iterator = complaints.iterator();
+            while (iterator.hasNext()) {
+                ComplaintExportRow row = ComplaintExportRow.of(iterator.next());
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, row.values());
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                
+                if (++count % CHUNK_SIZE == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return count;
+    }
+    
+    private void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+    
+    /**
+     * Quote values containing separators, quotes or line breaks (RFC 4180)
+     * Text starting with =, +, -, @, tab or CR is prefixed with ' so spreadsheets show it
+     * as text instead of running it as a formula; names, addresses and descriptions come
+     * from the public complaint form
+     */
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -1,21 +1,61 @@
 package com.aarohi.tms.service;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.aarohi.tms.cache.DashboardCache;
+import com.aarohi.tms.dto.BulkAssignRequest;
+import com.aarohi.tms.dto.BulkAssignResult;
+import com.aarohi.tms.dto.ComplaintChangeSet;
+import com.aarohi.tms.dto.ComplaintSnapshot;
+import com.aarohi.tms.dto.ComplaintSummary;
+import com.aarohi.tms.dto.CursorPage;
+import com.aarohi.tms.dto.KeysetCursor;
+import com.aarohi.tms.dto.StaffScheduleCount;
+import com.aarohi.tms.dto.StaffScheduleSummary;
 import com.aarohi.tms.entity.Complaint;
+import com.aarohi.tms.entity.ComplaintTombstone;
+import com.aarohi.tms.entity.ComplaintTombstone.Reason;
 import com.aarohi.tms.entity.ComplaintType;
 import com.aarohi.tms.entity.Priority;
 import com.aarohi.tms.entity.Role;
 import com.aarohi.tms.entity.Status;
 import com.aarohi.tms.entity.User;
+import com.aarohi.tms.event.ComplaintChangedEvent;
+import com.aarohi.tms.event.ComplaintChangedEvent.ChangeType;
+import com.aarohi.tms.index.ActiveComplaintIndex;
+import com.aarohi.tms.index.ComplaintSearchIndex;
 import com.aarohi.tms.repository.ComplaintRepository;
+import com.aarohi.tms.repository.ComplaintTombstoneRepository;
 import com.aarohi.tms.repository.UserRepository;
+import com.aarohi.tms.stats.ComplaintStatsEngine;
+import com.aarohi.tms.stats.ExpenseDailyRollups;
+import com.aarohi.tms.stats.ExpenseRunningTotals;
 
 /**
  * Service class for Complaint management operations
@@ -24,19 +64,65 @@ import com.aarohi.tms.repository.UserRepository;
 @Transactional
 public class ComplaintService {
     
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintService.class);
+    
+    private static final int MAX_PAGE_SIZE = 200;
+    
+    private static final int MAX_BULK_ASSIGN = 1000;
+    
+    /**
+     * Above this many index candidates an IN list stops paying off and the plain scan is used
+     */
+    private static final int MAX_SEARCH_CANDIDATES = 1000;
+    
+    private static final Set<String> PAGE_SORT_FIELDS = Set.of(
+        "createdDate", "updatedDate", "scheduledDate", "status", "priority", "customerName", "city", "id");
+    
     @Autowired
     private ComplaintRepository complaintRepository;
     
+    @Autowired
+    private ComplaintTombstoneRepository tombstoneRepository;
+    
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ComplaintSearchIndex complaintSearchIndex;
+    
+    @Autowired
+    private ActiveComplaintIndex activeComplaintIndex;
+    
+    @Autowired
+    private ComplaintStatsEngine statsEngine;
+    
+    @Autowired
+    private ExpenseRunningTotals expenseRunningTotals;
+    
+    @Autowired
+    private ExpenseDailyRollups expenseDailyRollups;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+    
+    /**
+     * syncedAt lags the clock by this much so rows committed late with an older updatedDate are not missed
+     */
+    @Value("${app.sync.overlap-seconds:30}")
+    private int syncOverlapSeconds;
+    
     /**
      * Create a new complaint
      */
     public Complaint createComplaint(Complaint complaint) {
         complaint.setCreatedDate(LocalDateTime.now());
         complaint.setUpdatedDate(LocalDateTime.now());
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        publishChange(ChangeType.CREATED, null, saved);
+        return saved;
     }
     
     /**
@@ -45,6 +131,10 @@ public class ComplaintService {
     public Complaint updateComplaint(Long id, Complaint complaintDetails) {
         Complaint complaint = complaintRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Complaint not found with id: " + id));
+        ComplaintSnapshot before = ComplaintSnapshot.of(complaint);
+        if (complaint.getComplaintType() != complaintDetails.getComplaintType()) {
+            expenseDailyRollups.recordComplaintTypeChange(complaint, complaintDetails.getComplaintType());
+        }
         
         // Update fields
         complaint.setCustomerName(complaintDetails.getCustomerName());
@@ -63,7 +153,9 @@ public class ComplaintService {
         complaint.setResolutionNotes(complaintDetails.getResolutionNotes());
         complaint.setUpdatedDate(LocalDateTime.now());
         
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        publishChange(ChangeType.UPDATED, before, saved);
+        return saved;
     }
     
     /**
@@ -72,6 +164,7 @@ public class ComplaintService {
     public Complaint assignComplaint(Long complaintId, Long staffId) {
         Complaint complaint = complaintRepository.findById(complaintId)
             .orElseThrow(() -> new RuntimeException("Complaint not found with id: " + complaintId));
+        ComplaintSnapshot before = ComplaintSnapshot.of(complaint);
         
         User staff = userRepository.findById(staffId)
             .orElseThrow(() -> new RuntimeException("Staff not found with id: " + staffId));
@@ -84,7 +177,9 @@ public class ComplaintService {
         complaint.setStatus(Status.ASSIGNED);
         complaint.setUpdatedDate(LocalDateTime.now());
         
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        publishChange(ChangeType.ASSIGNED, before, saved);
+        return saved;
     }
     
     /**
@@ -93,6 +188,7 @@ public class ComplaintService {
     public Complaint assignComplaintWithSchedule(Long complaintId, Long staffId, LocalDateTime scheduleDate) {
         Complaint complaint = complaintRepository.findById(complaintId)
             .orElseThrow(() -> new RuntimeException("Complaint not found with id: " + complaintId));
+        ComplaintSnapshot before = ComplaintSnapshot.of(complaint);
         
         User staff = userRepository.findById(staffId)
             .orElseThrow(() -> new RuntimeException("Staff not found with id: " + staffId));
@@ -106,7 +202,71 @@ public class ComplaintService {
         complaint.setScheduledDate(scheduleDate);
         complaint.setUpdatedDate(LocalDateTime.now());
         
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        publishChange(ChangeType.ASSIGNED, before, saved);
+        return saved;
+    }
+    
+    /**
+     * Assign many complaints in one transaction
+     * Staff and complaints are each loaded with a single IN query; the updates are flushed
+     * together at commit so Hibernate can send them as JDBC batches. Invalid items are
+     * reported in the result instead of failing the whole request.
+     */
+    public List<BulkAssignResult> bulkAssignComplaints(List<BulkAssignRequest> requests) {
+        if (requests.size() > MAX_BULK_ASSIGN) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_ASSIGN + " complaints can be assigned at once");
+        }
+        
+        Set<Long> staffIds = new HashSet<>();
+        Set<Long> complaintIds = new HashSet<>();
+        for (BulkAssignRequest request : requests) {
+            if (request.getStaffId() != null && request.getComplaintId() != null) {
+                staffIds.add(request.getStaffId());
+                complaintIds.add(request.getComplaintId());
+            }
+        }
+        Map<Long, User> staffById = new HashMap<>();
+        for (User user : userRepository.findAllById(staffIds)) {
+            staffById.put(user.getId(), user);
+        }
+        Map<Long, Complaint> complaintsById = new HashMap<>();
+        for (Complaint complaint : complaintRepository.findAllById(complaintIds)) {
+            complaintsById.put(complaint.getId(), complaint);
+        }
+        
+        List<BulkAssignResult> results = new ArrayList<>();
+        Map<Long, ComplaintSnapshot> beforeById = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (BulkAssignRequest request : requests) {
+            Long complaintId = request.getComplaintId();
+            Long staffId = request.getStaffId();
+            Complaint complaint = complaintId != null ? complaintsById.get(complaintId) : null;
+            User staff = staffId != null ? staffById.get(staffId) : null;
+            if (complaintId == null || staffId == null) {
+                results.add(BulkAssignResult.failed(complaintId, staffId, "Complaint id and staff id are required"));
+            } else if (complaint == null) {
+                results.add(BulkAssignResult.failed(complaintId, staffId, "Complaint not found with id: " + complaintId));
+            } else if (staff == null) {
+                results.add(BulkAssignResult.failed(complaintId, staffId, "Staff not found with id: " + staffId));
+            } else if (staff.getRole() != Role.STAFF) {
+                results.add(BulkAssignResult.failed(complaintId, staffId, "User is not a staff member"));
+            } else {
+                beforeById.putIfAbsent(complaintId, ComplaintSnapshot.of(complaint));
+                complaint.setAssignedStaff(staff);
+                complaint.setStatus(Status.ASSIGNED);
+                if (request.getScheduleDate() != null) {
+                    complaint.setScheduledDate(request.getScheduleDate());
+                }
+                complaint.setUpdatedDate(now);
+                results.add(BulkAssignResult.assigned(complaintId, staffId));
+            }
+        }
+        
+        for (Map.Entry<Long, ComplaintSnapshot> entry : beforeById.entrySet()) {
+            publishChange(ChangeType.ASSIGNED, entry.getValue(), complaintsById.get(entry.getKey()));
+        }
+        return results;
     }
     
     /**
@@ -115,11 +275,14 @@ public class ComplaintService {
     public Complaint updateScheduleDate(Long complaintId, LocalDateTime scheduleDate) {
         Complaint complaint = complaintRepository.findById(complaintId)
             .orElseThrow(() -> new RuntimeException("Complaint not found with id: " + complaintId));
+        ComplaintSnapshot before = ComplaintSnapshot.of(complaint);
         
         complaint.setScheduledDate(scheduleDate);
         complaint.setUpdatedDate(LocalDateTime.now());
         
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        publishChange(ChangeType.RESCHEDULED, before, saved);
+        return saved;
     }
     
     /**
@@ -128,6 +291,7 @@ public class ComplaintService {
     public Complaint updateComplaintStatus(Long id, Status status, String resolutionNotes) {
         Complaint complaint = complaintRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Complaint not found with id: " + id));
+        ComplaintSnapshot before = ComplaintSnapshot.of(complaint);
         
         complaint.setStatus(status);
         if (resolutionNotes != null && !resolutionNotes.isEmpty()) {
@@ -135,12 +299,15 @@ public class ComplaintService {
         }
         complaint.setUpdatedDate(LocalDateTime.now());
         
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        publishChange(ChangeType.STATUS_CHANGED, before, saved);
+        return saved;
     }
     
     /**
      * Get complaint by ID
      */
+    @Transactional(readOnly = true)
     public Optional<Complaint> getComplaintById(Long id) {
         return complaintRepository.findById(id);
     }
@@ -148,13 +315,119 @@ public class ComplaintService {
     /**
      * Get all complaints
      */
+    @Transactional(readOnly = true)
     public List<Complaint> getAllComplaints() {
         return complaintRepository.findAll();
     }
     
+    /**
+     * Get complaints one keyset page at a time, ordered by (createdDate, id)
+     * Pass the nextCursor of the previous page to continue; null starts from the beginning
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Complaint> getComplaintsByCursor(String cursor, int size, boolean ascending) {
+        int limit = clampPageSize(size);
+        // Fetch one extra row to know whether another page exists
+        Pageable fetch = PageRequest.of(0, limit + 1);
+        
+        List<Complaint> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = ascending ? complaintRepository.findKeysetFirstPageAsc(fetch)
+                             : complaintRepository.findKeysetFirstPageDesc(fetch);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = ascending
+                ? complaintRepository.findKeysetPageAsc(position.getTimestamp(), position.getId(), fetch)
+                : complaintRepository.findKeysetPageDesc(position.getTimestamp(), position.getId(), fetch);
+        }
+        
+        boolean hasMore = rows.size() > limit;
+        List<Complaint> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Complaint last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedDate(), last.getId()).encode();
+        }
+        return new CursorPage<>(new ArrayList<>(items), nextCursor, hasMore);
+    }
+    
+    /**
+     * Get complaints changed since the client's last sync, keyset paginated on (updatedDate, id)
+     * A null since starts a full sync. staffId restricts the result to that staff member's complaints.
+     * Tombstones and syncedAt are only returned on the last page, so removals recorded while
+     * the client is paging are not lost.
+     */
+    @Transactional(readOnly = true)
+    public ComplaintChangeSet getComplaintChanges(LocalDateTime since, String cursor, int size, Long staffId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (since != null && since.isBefore(now.minusDays(tombstoneRetentionDays))) {
+            return ComplaintChangeSet.resync();
+        }
+        int limit = clampPageSize(size);
+        Pageable fetch = PageRequest.of(0, limit + 1);
+        
+        List<Complaint> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            LocalDateTime from = since != null ? since : LocalDateTime.of(1970, 1, 1, 0, 0);
+            rows = staffId != null ? complaintRepository.findChangedSinceByStaffId(staffId, from, fetch)
+                                   : complaintRepository.findChangedSince(from, fetch);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = staffId != null
+                ? complaintRepository.findChangedAfterByStaffId(staffId, position.getTimestamp(), position.getId(), fetch)
+                : complaintRepository.findChangedAfter(position.getTimestamp(), position.getId(), fetch);
+        }
+        
+        boolean hasMore = rows.size() > limit;
+        List<Complaint> items = hasMore ? new ArrayList<>(rows.subList(0, limit)) : new ArrayList<>(rows);
+        if (hasMore) {
+            Complaint last = items.get(items.size() - 1);
+            String nextCursor = new KeysetCursor(last.getUpdatedDate(), last.getId()).encode();
+            return new ComplaintChangeSet(items, List.of(), nextCursor, true, null, false);
+        }
+        
+        List<ComplaintTombstone> removed = List.of();
+        if (since != null) {
+            removed = staffId != null ? tombstoneRepository.findByStaffIdSince(staffId, since)
+                                      : tombstoneRepository.findByReasonSince(Reason.DELETED, since);
+        }
+        return new ComplaintChangeSet(items, removed, null, false,
+                now.minus(Duration.ofSeconds(syncOverlapSeconds)), false);
+    }
+    
+    /**
+     * Purge tombstones past the retention; clients syncing from before it get resyncRequired
+     */
+    @Scheduled(cron = "${app.sync.tombstone-purge-cron:0 30 3 * * *}")
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (purged > 0) {
+            logger.info("Purged {} complaint tombstones older than {} days", purged, tombstoneRetentionDays);
+        }
+    }
+    
+    /**
+     * Get complaints by page number (fallback for page-numbered tables)
+     */
+    @Transactional(readOnly = true)
+    public Page<Complaint> getComplaintsPage(int page, int size, String sortBy, boolean ascending) {
+        if (!PAGE_SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        }
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        // Secondary sort on id keeps page boundaries stable for equal sort values
+        Sort sort = Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+        return complaintRepository.findAll(PageRequest.of(Math.max(page, 0), clampPageSize(size), sort));
+    }
+    
+    private int clampPageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+    
     /**
      * Get complaints by status
      */
+    @Transactional(readOnly = true)
     public List<Complaint> getComplaintsByStatus(Status status) {
         return complaintRepository.findByStatus(status);
     }
@@ -162,6 +435,7 @@ public class ComplaintService {
     /**
      * Get complaints by priority
      */
+    @Transactional(readOnly = true)
     public List<Complaint> getComplaintsByPriority(Priority priority) {
         return complaintRepository.findByPriority(priority);
     }
@@ -169,6 +443,7 @@ public class ComplaintService {
     /**
      * Get complaints by assigned staff
      */
+    @Transactional(readOnly = true)
     public List<Complaint> getComplaintsByAssignedStaff(Long staffId) {
         return complaintRepository.findByAssignedStaffId(staffId);
     }
@@ -176,23 +451,36 @@ public class ComplaintService {
     /**
      * Get complaints by mobile number
      */
+    @Transactional(readOnly = true)
     public List<Complaint> getComplaintsByMobileNumber(String mobileNumber) {
         return complaintRepository.findByMobileNumber(mobileNumber);
     }
     
     /**
      * Search complaints with filters
+     * Text filters are first resolved to candidate ids through the trigram search index
      */
-    public List<Complaint> searchComplaints(String customerName, String mobileNumber, 
+    @Transactional(readOnly = true)
+    public List<Complaint> searchComplaints(String customerName, String mobileNumber, String keyword,
                                           Status status, Priority priority, 
                                           ComplaintType complaintType, Long assignedStaffId) {
-        return complaintRepository.searchComplaints(customerName, mobileNumber, 
+        Optional<Set<Long>> candidates = complaintSearchIndex.findCandidates(customerName, mobileNumber, keyword);
+        if (candidates.isPresent() && candidates.get().size() <= MAX_SEARCH_CANDIDATES) {
+            if (candidates.get().isEmpty()) {
+                return new ArrayList<>();
+            }
+            return complaintRepository.searchComplaintsByIdIn(candidates.get(), customerName, mobileNumber,
+                                                             keyword, status, priority, complaintType, assignedStaffId);
+        }
+        return complaintRepository.searchComplaints(customerName, mobileNumber, keyword,
                                                    status, priority, complaintType, assignedStaffId);
     }
     
     /**
      * Get recent complaints
      */
+    @Cacheable(cacheNames = DashboardCache.Names.RECENT_COMPLAINTS, keyGenerator = "dashboardCacheKeyGenerator")
+    @Transactional(readOnly = true)
     public List<Complaint> getRecentComplaints() {
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
         return complaintRepository.findRecentComplaints(thirtyDaysAgo);
@@ -201,32 +489,85 @@ public class ComplaintService {
     /**
      * Get high priority open complaints
      */
+    @Cacheable(cacheNames = DashboardCache.Names.HIGH_PRIORITY_COMPLAINTS, keyGenerator = "dashboardCacheKeyGenerator")
+    @Transactional(readOnly = true)
     public List<Complaint> getHighPriorityOpenComplaints() {
         return complaintRepository.findHighPriorityOpenComplaints();
     }
     
+    /**
+     * Get summaries of all complaints
+     */
+    @Transactional(readOnly = true)
+    public List<ComplaintSummary> getAllComplaintSummaries() {
+        return complaintRepository.findAllSummaries();
+    }
+    
+    /**
+     * Get complaint summaries by status
+     */
+    @Transactional(readOnly = true)
+    public List<ComplaintSummary> getComplaintSummariesByStatus(Status status) {
+        return complaintRepository.findSummariesByStatus(status);
+    }
+    
+    /**
+     * Get summaries of recent complaints
+     */
+    @Transactional(readOnly = true)
+    public List<ComplaintSummary> getRecentComplaintSummaries() {
+        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
+        return complaintRepository.findRecentSummaries(thirtyDaysAgo);
+    }
+    
+    /**
+     * Get complaint summaries by assigned staff
+     */
+    @Transactional(readOnly = true)
+    public List<ComplaintSummary> getComplaintSummariesByAssignedStaff(Long staffId) {
+        return complaintRepository.findSummariesByAssignedStaffId(staffId);
+    }
+    
     /**
      * Delete complaint
      */
     public void deleteComplaint(Long id) {
         Complaint complaint = complaintRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Complaint not found with id: " + id));
+        delete(complaint);
+    }
+    
+    /**
+     * Delete every complaint assigned to a staff member, each one like deleteComplaint
+     * so rollups, running totals, tombstones and change events see every delete
+     */
+    public int deleteComplaintsAssignedTo(Long staffId) {
+        List<Complaint> complaints = complaintRepository.findByAssignedStaffId(staffId);
+        for (Complaint complaint : complaints) {
+            delete(complaint);
+        }
+        return complaints.size();
+    }
+    
+    private void delete(Complaint complaint) {
+        ComplaintSnapshot before = ComplaintSnapshot.of(complaint);
+        // Expenses are removed with the complaint by cascade
+        expenseDailyRollups.recordComplaintDeleted(complaint);
+        expenseRunningTotals.recordComplaintDeleted(complaint);
         complaintRepository.delete(complaint);
+        publishChange(ChangeType.DELETED, before, null);
     }
     
     /**
      * Get complaint statistics
      */
     public ComplaintStats getComplaintStats() {
-        Long totalComplaints = complaintRepository.count();
-        Long openComplaints = complaintRepository.countByStatus(Status.OPEN);
-        Long assignedComplaints = complaintRepository.countByStatus(Status.ASSIGNED);
-        Long inProgressComplaints = complaintRepository.countByStatus(Status.IN_PROGRESS);
-        Long closedComplaints = complaintRepository.countByStatus(Status.CLOSED);
-        Long highPriorityComplaints = complaintRepository.countByPriority(Priority.HIGH);
-        
-        return new ComplaintStats(totalComplaints, openComplaints, assignedComplaints, 
-                                 inProgressComplaints, closedComplaints, highPriorityComplaints);
+        return new ComplaintStats(statsEngine.getTotal(),
+                                 statsEngine.countByStatus(Status.OPEN),
+                                 statsEngine.countByStatus(Status.ASSIGNED),
+                                 statsEngine.countByStatus(Status.IN_PROGRESS),
+                                 statsEngine.countByStatus(Status.CLOSED),
+                                 statsEngine.countByPriority(Priority.HIGH));
     }
     
     /**
@@ -272,14 +613,37 @@ public class ComplaintService {
     
     /**
      * Get complaints by mobile number with active status (not closed)
+     * Resolved through the active complaint index; the database is only read for matches,
+     * which are re-checked there in case the index is stale
      */
     public List<Complaint> getComplaintsByMobileAndActiveStatus(String mobileNumber) {
-        return complaintRepository.findByMobileNumberAndStatusNot(mobileNumber, Status.CLOSED);
+        Optional<Set<Long>> activeIds = activeComplaintIndex.findActiveComplaintIds(mobileNumber);
+        if (activeIds.isEmpty()) {
+            return complaintRepository.findByMobileNumberAndStatusNot(mobileNumber, Status.CLOSED);
+        }
+        if (activeIds.get().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return complaintRepository.findByIdInAndMobileNumberAndStatusNot(activeIds.get(), mobileNumber, Status.CLOSED);
+    }
+    
+    /**
+     * Check if a mobile number has an active (not closed) complaint
+     * Index hits are confirmed in the database so a stale entry never blocks a customer
+     */
+    public boolean hasActiveComplaint(String mobileNumber) {
+        Optional<Set<Long>> activeIds = activeComplaintIndex.findActiveComplaintIds(mobileNumber);
+        if (activeIds.isPresent()) {
+            return !activeIds.get().isEmpty()
+                    && complaintRepository.existsByIdInAndMobileNumberAndStatusNot(activeIds.get(), mobileNumber, Status.CLOSED);
+        }
+        return !complaintRepository.findByMobileNumberAndStatusNot(mobileNumber, Status.CLOSED).isEmpty();
     }
     
     /**
      * Get staff schedule for a specific date
      */
+    @Transactional(readOnly = true)
     public List<Complaint> getStaffScheduleForDate(Long staffId, String date) {
         try {
             LocalDateTime startDate = LocalDateTime.parse(date + "T00:00:00");
@@ -295,6 +659,7 @@ public class ComplaintService {
     /**
      * Get all staff schedules for a date range
      */
+    @Transactional(readOnly = true)
     public List<Complaint> getAllStaffSchedules(String startDate, String endDate) {
         try {
             LocalDateTime start = LocalDateTime.parse(startDate + "T00:00:00");
@@ -309,6 +674,7 @@ public class ComplaintService {
     /**
      * Get weekly schedule summary
      */
+    @Transactional(readOnly = true)
     public Object getWeeklyScheduleSummary(String startDate) {
         try {
             LocalDateTime start = LocalDateTime.parse(startDate + "T00:00:00");
@@ -337,6 +703,7 @@ public class ComplaintService {
     /**
      * Get complaints by schedule date range
      */
+    @Transactional(readOnly = true)
     public List<Complaint> getComplaintsByScheduleDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return complaintRepository.findByScheduledDateBetween(startDate, endDate);
     }
@@ -344,6 +711,7 @@ public class ComplaintService {
     /**
      * Get complaints by staff and schedule date range
      */
+    @Transactional(readOnly = true)
     public List<Complaint> getComplaintsByStaffAndScheduleDateRange(Long staffId, LocalDateTime startDate, LocalDateTime endDate) {
         return complaintRepository.findByAssignedStaffIdAndScheduledDateBetween(staffId, startDate, endDate);
     }
@@ -351,6 +719,7 @@ public class ComplaintService {
     /**
      * Get today's scheduled complaints
      */
+    @Transactional(readOnly = true)
     public List<Complaint> getTodaysScheduledComplaints() {
         LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
         LocalDateTime endOfDay = startOfDay.plusDays(1).minusNanos(1);
@@ -360,6 +729,7 @@ public class ComplaintService {
     /**
      * Get this week's scheduled complaints
      */
+    @Transactional(readOnly = true)
     public List<Complaint> getWeeklyScheduledComplaints() {
         LocalDateTime startOfWeek = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
         // Adjust to start of current week (Monday)
@@ -370,33 +740,39 @@ public class ComplaintService {
     
     /**
      * Get staff schedule summary for date range
+     * Aggregated per staff, status and day in a single query
      */
-    public Object getStaffScheduleSummary(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Complaint> complaints = complaintRepository.findByScheduledDateBetween(startDate, endDate);
-        
-        // Group by staff and create summary
-        return complaints.stream()
-            .filter(c -> c.getAssignedStaff() != null)
-            .collect(java.util.stream.Collectors.groupingBy(
-                c -> c.getAssignedStaff(),
-                java.util.stream.Collectors.collectingAndThen(
-                    java.util.stream.Collectors.toList(),
-                    list -> new Object() {
-                        public final String staffName = list.get(0).getAssignedStaff().getFullName();
-                        public final Long staffId = list.get(0).getAssignedStaff().getId();
-                        public final int totalScheduled = list.size();
-                        public final long pending = list.stream()
-                            .filter(c -> c.getStatus() == Status.ASSIGNED)
-                            .count();
-                        public final long inProgress = list.stream()
-                            .filter(c -> c.getStatus() == Status.IN_PROGRESS)
-                            .count();
-                        public final long completed = list.stream()
-                            .filter(c -> c.getStatus() == Status.CLOSED)
-                            .count();
-                    }
-                )
-            ));
+    @Transactional(readOnly = true)
+    public List<StaffScheduleSummary> getStaffScheduleSummary(LocalDateTime startDate, LocalDateTime endDate) {
+        List<StaffScheduleCount> counts = complaintRepository.countScheduledByStaffStatusAndDay(startDate, endDate);
+        
+        Map<Long, List<StaffScheduleCount>> countsByStaff = new LinkedHashMap<>();
+        for (StaffScheduleCount count : counts) {
+            countsByStaff.computeIfAbsent(count.staffId(), id -> new ArrayList<>()).add(count);
+        }
+        
+        List<StaffScheduleSummary> summaries = new ArrayList<>();
+        for (List<StaffScheduleCount> staffCounts : countsByStaff.values()) {
+            long total = 0, pending = 0, inProgress = 0, completed = 0;
+            Map<LocalDate, Long> scheduledByDay = new TreeMap<>();
+            for (StaffScheduleCount count : staffCounts) {
+                total += count.count();
+                if (count.status() == Status.ASSIGNED) {
+                    pending += count.count();
+                } else if (count.status() == Status.IN_PROGRESS) {
+                    inProgress += count.count();
+                } else if (count.status() == Status.CLOSED) {
+                    completed += count.count();
+                }
+                scheduledByDay.merge(count.day(), count.count(), Long::sum);
+            }
+            StaffScheduleCount first = staffCounts.get(0);
+            summaries.add(new StaffScheduleSummary(first.staffId(), first.staffName(), total,
+                                                   pending, inProgress, completed, scheduledByDay));
+        }
+        summaries.sort(Comparator.comparing(StaffScheduleSummary::staffName,
+                                            Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return summaries;
     }
     
     /**
@@ -413,4 +789,34 @@ public class ComplaintService {
         return complaint.getAssignedStaff() != null && 
                complaint.getAssignedStaff().getId().equals(userId);
     }
+    
+    /**
+     * Publish a complaint change; listeners run once the transaction commits
+     */
+    private void publishChange(ChangeType type, ComplaintSnapshot before, Complaint after) {
+        recordTombstone(before, after);
+        eventPublisher.publishEvent(new ComplaintChangedEvent(type, before,
+                after != null ? ComplaintSnapshot.of(after) : null));
+    }
+    
+    /**
+     * Record a tombstone when a complaint is deleted or moves away from its staff member,
+     * in the same transaction as the change so delta sync never misses a removal
+     */
+    private void recordTombstone(ComplaintSnapshot before, Complaint after) {
+        if (before == null) {
+            return;
+        }
+        if (after == null) {
+            tombstoneRepository.save(new ComplaintTombstone(before.id(), before.assignedStaffId(),
+                    Reason.DELETED, LocalDateTime.now()));
+            return;
+        }
+        Long previousStaffId = before.assignedStaffId();
+        Long currentStaffId = after.getAssignedStaff() != null ? after.getAssignedStaff().getId() : null;
+        if (previousStaffId != null && !previousStaffId.equals(currentStaffId)) {
+            tombstoneRepository.save(new ComplaintTombstone(before.id(), previousStaffId,
+                    Reason.UNASSIGNED, LocalDateTime.now()));
+        }
+    }
 }
@@ -1,20 +1,32 @@
 package com.aarohi.tms.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.aarohi.tms.cache.DashboardCache;
+import com.aarohi.tms.dto.ExpenseAnalytics;
+import com.aarohi.tms.dto.ExpenseAnalytics.Bucket;
+import com.aarohi.tms.dto.ExpenseTotals;
 import com.aarohi.tms.entity.Complaint;
 import com.aarohi.tms.entity.Expense;
+import com.aarohi.tms.entity.ExpenseDailyRollup.Dimension;
+import com.aarohi.tms.entity.ExpenseDailyRollup.Source;
 import com.aarohi.tms.entity.User;
+import com.aarohi.tms.event.ExpenseChangedEvent;
 import com.aarohi.tms.repository.ComplaintRepository;
 import com.aarohi.tms.repository.ExpenseRepository;
 import com.aarohi.tms.repository.UserRepository;
+import com.aarohi.tms.stats.ExpenseDailyRollups;
+import com.aarohi.tms.stats.ExpenseRunningTotals;
 
 /**
  * Service class for Expense management operations
@@ -32,12 +44,25 @@ public class ExpenseService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ExpenseRunningTotals runningTotals;
+    
+    @Autowired
+    private ExpenseDailyRollups dailyRollups;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Create a new expense
      */
     public Expense createExpense(Expense expense) {
         expense.setExpenseDate(LocalDateTime.now());
-        return expenseRepository.save(expense);
+        dailyRollups.recordExpenseCreated(expense);
+        runningTotals.recordCreated(expense);
+        Expense saved = expenseRepository.save(expense);
+        publishChange(saved);
+        return saved;
     }
     
     /**
@@ -60,7 +85,11 @@ public class ExpenseService {
         expense.setAddedBy(user);
         expense.setExpenseDate(LocalDateTime.now());
         
-        return expenseRepository.save(expense);
+        dailyRollups.recordExpenseCreated(expense);
+        runningTotals.recordCreated(expense);
+        Expense saved = expenseRepository.save(expense);
+        publishChange(saved);
+        return saved;
     }
     
     /**
@@ -69,6 +98,8 @@ public class ExpenseService {
     public Expense updateExpense(Long id, Expense expenseDetails) {
         Expense expense = expenseRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Expense not found with id: " + id));
+        BigDecimal previousAmount = expense.getAmount();
+        String previousVendorName = expense.getVendorName();
         
         expense.setDescription(expenseDetails.getDescription());
         expense.setAmount(expenseDetails.getAmount());
@@ -76,12 +107,17 @@ public class ExpenseService {
         expense.setVendorName(expenseDetails.getVendorName());
         expense.setNotes(expenseDetails.getNotes());
         
-        return expenseRepository.save(expense);
+        Expense saved = expenseRepository.save(expense);
+        dailyRollups.recordExpenseUpdated(saved, previousAmount, previousVendorName);
+        runningTotals.recordAmountChange(saved, previousAmount);
+        publishChange(saved);
+        return saved;
     }
     
     /**
      * Get expense by ID
      */
+    @Transactional(readOnly = true)
     public Optional<Expense> getExpenseById(Long id) {
         return expenseRepository.findById(id);
     }
@@ -89,6 +125,7 @@ public class ExpenseService {
     /**
      * Get all expenses
      */
+    @Transactional(readOnly = true)
     public List<Expense> getAllExpenses() {
         return expenseRepository.findAll();
     }
@@ -96,6 +133,7 @@ public class ExpenseService {
     /**
      * Get expenses by complaint ID
      */
+    @Transactional(readOnly = true)
     public List<Expense> getExpensesByComplaintId(Long complaintId) {
         return expenseRepository.findByComplaintId(complaintId);
     }
@@ -103,6 +141,7 @@ public class ExpenseService {
     /**
      * Get expenses by user (added by)
      */
+    @Transactional(readOnly = true)
     public List<Expense> getExpensesByUser(Long userId) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
@@ -112,20 +151,23 @@ public class ExpenseService {
     /**
      * Get total expenses for a complaint
      */
+    @Transactional(readOnly = true)
     public BigDecimal getTotalExpensesByComplaintId(Long complaintId) {
-        return expenseRepository.getTotalExpensesByComplaintId(complaintId);
+        return runningTotals.getComplaintAmount(complaintId);
     }
     
     /**
      * Get total expenses added by a user
      */
+    @Transactional(readOnly = true)
     public BigDecimal getTotalExpensesByUserId(Long userId) {
-        return expenseRepository.getTotalExpensesByUserId(userId);
+        return runningTotals.getUserAmount(userId);
     }
     
     /**
      * Get recent expenses
      */
+    @Transactional(readOnly = true)
     public List<Expense> getRecentExpenses() {
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
         return expenseRepository.findRecentExpenses(thirtyDaysAgo);
@@ -134,6 +176,7 @@ public class ExpenseService {
     /**
      * Search expenses by description
      */
+    @Transactional(readOnly = true)
     public List<Expense> searchExpensesByDescription(String description) {
         return expenseRepository.findByDescriptionContainingIgnoreCase(description);
     }
@@ -141,6 +184,7 @@ public class ExpenseService {
     /**
      * Get expenses by date range
      */
+    @Transactional(readOnly = true)
     public List<Expense> getExpensesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return expenseRepository.findByExpenseDateBetween(startDate, endDate);
     }
@@ -148,6 +192,7 @@ public class ExpenseService {
     /**
      * Get expenses by amount range
      */
+    @Transactional(readOnly = true)
     public List<Expense> getExpensesByAmountRange(BigDecimal minAmount, BigDecimal maxAmount) {
         return expenseRepository.findByAmountBetween(minAmount, maxAmount);
     }
@@ -159,30 +204,29 @@ public class ExpenseService {
         Expense expense = expenseRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Expense not found with id: " + id));
         expenseRepository.delete(expense);
+        dailyRollups.recordExpenseDeleted(expense);
+        runningTotals.recordDeleted(expense);
+        publishChange(expense);
     }
     
     /**
-     * Get expense statistics
+     * Get expense statistics from the running totals
+     * Recent means dated within the last 30 calendar days
      */
+    @Cacheable(cacheNames = DashboardCache.Names.EXPENSE_STATS, keyGenerator = "dashboardCacheKeyGenerator")
+    @Transactional(readOnly = true)
     public ExpenseStats getExpenseStats() {
-        Long totalExpenses = expenseRepository.count();
-        
-        // Calculate total amount for all expenses
-        List<Expense> allExpenses = expenseRepository.findAll();
-        BigDecimal totalAmount = allExpenses.stream()
-            .map(Expense::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        // Recent expenses (last 30 days)
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        List<Expense> recentExpenses = expenseRepository.findRecentExpenses(thirtyDaysAgo);
-        Long recentExpensesCount = (long) recentExpenses.size();
-        
-        BigDecimal recentExpensesAmount = recentExpenses.stream()
-            .map(Expense::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        return new ExpenseStats(totalExpenses, totalAmount, recentExpensesCount, recentExpensesAmount);
+        ExpenseTotals all = runningTotals.getTotals();
+        ExpenseTotals recent = runningTotals.getTotalsSince(LocalDate.now().minusDays(30));
+        return new ExpenseStats(all.count(), all.amount(), recent.count(), recent.amount());
+    }
+    
+    /**
+     * Get expense spend per day, week or month, optionally broken down by staff, vendor or complaint type
+     */
+    @Transactional(readOnly = true)
+    public ExpenseAnalytics getExpenseAnalytics(Bucket bucket, Dimension groupBy, LocalDate from, LocalDate to) {
+        return dailyRollups.getAnalytics(Source.EXPENSE, groupBy, bucket, from, to);
     }
     
     /**
@@ -215,4 +259,12 @@ public class ExpenseService {
         public BigDecimal getRecentExpensesAmount() { return recentExpensesAmount; }
         public void setRecentExpensesAmount(BigDecimal recentExpensesAmount) { this.recentExpensesAmount = recentExpensesAmount; }
     }
+    
+    /**
+     * Publish a change event, delivered to listeners after commit
+     */
+    private void publishChange(Expense expense) {
+        Long complaintId = expense.getComplaint() != null ? expense.getComplaint().getId() : null;
+        eventPublisher.publishEvent(new ExpenseChangedEvent(expense.getId(), complaintId));
+    }
 }
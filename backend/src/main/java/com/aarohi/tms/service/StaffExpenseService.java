@@ -1,19 +1,31 @@
 package com.aarohi.tms.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.aarohi.tms.dto.ExpenseAnalytics;
+import com.aarohi.tms.dto.ExpenseAnalytics.Bucket;
+import com.aarohi.tms.dto.StaffExpenseBalance;
+import com.aarohi.tms.dto.StaffExpenseSnapshot;
+import com.aarohi.tms.entity.ExpenseDailyRollup.Dimension;
+import com.aarohi.tms.entity.ExpenseDailyRollup.Source;
 import com.aarohi.tms.entity.ExpenseStatus;
 import com.aarohi.tms.entity.StaffExpense;
 import com.aarohi.tms.entity.User;
+import com.aarohi.tms.event.StaffExpenseChangedEvent;
 import com.aarohi.tms.repository.StaffExpenseRepository;
 import com.aarohi.tms.repository.UserRepository;
+import com.aarohi.tms.stats.ExpenseDailyRollups;
+import com.aarohi.tms.stats.StaffExpenseLedger;
 
 /**
  * Service class for StaffExpense management
@@ -21,6 +33,9 @@ import com.aarohi.tms.repository.UserRepository;
 @Service
 @Transactional
 public class StaffExpenseService {
+    
+    private static final int MAX_BATCH_CREATE = 100;
+    
     /**
      * Staff marks expense as cleared (after advance/payment)
      */
@@ -30,9 +45,12 @@ public class StaffExpenseService {
         if (!expense.getStaffUser().getId().equals(staffUserId)) {
             throw new RuntimeException("You are not authorized to clear this expense");
         }
+        StaffExpenseSnapshot before = StaffExpenseSnapshot.of(expense);
         expense.setStatus(ExpenseStatus.CLEARED);
         expense.setUpdatedAt(LocalDateTime.now());
-        return staffExpenseRepository.save(expense);
+        StaffExpense saved = staffExpenseRepository.save(expense);
+        publishChange(before, saved);
+        return saved;
     }
     /**
      * Pay advance amount for staff expense (Admin only)
@@ -40,9 +58,12 @@ public class StaffExpenseService {
     public StaffExpense payAdvance(Long expenseId, BigDecimal amount) {
         StaffExpense expense = staffExpenseRepository.findById(expenseId)
                 .orElseThrow(() -> new RuntimeException("Staff expense not found with id: " + expenseId));
+        StaffExpenseSnapshot before = StaffExpenseSnapshot.of(expense);
         expense.setAdvancePaid(amount);
         expense.setUpdatedAt(LocalDateTime.now());
-        return staffExpenseRepository.save(expense);
+        StaffExpense saved = staffExpenseRepository.save(expense);
+        publishChange(before, saved);
+        return saved;
     }
     
     @Autowired
@@ -51,6 +72,15 @@ public class StaffExpenseService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private StaffExpenseLedger ledger;
+    
+    @Autowired
+    private ExpenseDailyRollups dailyRollups;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Create a new staff expense
      */
@@ -62,7 +92,44 @@ public class StaffExpenseService {
         staffExpense.setCreatedAt(LocalDateTime.now());
         staffExpense.setUpdatedAt(LocalDateTime.now());
         
-        return staffExpenseRepository.save(staffExpense);
+        StaffExpense saved = staffExpenseRepository.save(staffExpense);
+        publishChange(null, saved);
+        return saved;
+    }
+    
+    /**
+     * Create many staff expenses for one staff user in one transaction
+     * The staff user is loaded once and the inserts are flushed together at commit, so
+     * Hibernate sends them as JDBC batches (ids come from the pooled table generator).
+     * Either every expense is saved or none is.
+     */
+    public List<StaffExpense> createStaffExpenses(Long staffUserId, List<StaffExpense> staffExpenses) {
+        if (staffExpenses.isEmpty()) {
+            throw new IllegalArgumentException("At least one expense is required");
+        }
+        if (staffExpenses.size() > MAX_BATCH_CREATE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_CREATE + " expenses can be created at once");
+        }
+        User staffUser = userRepository.findById(staffUserId)
+                .orElseThrow(() -> new RuntimeException("Staff user not found with id: " + staffUserId));
+        
+        LocalDateTime now = LocalDateTime.now();
+        for (StaffExpense staffExpense : staffExpenses) {
+            staffExpense.setStaffUser(staffUser);
+            staffExpense.setCreatedAt(now);
+            staffExpense.setUpdatedAt(now);
+        }
+        
+        List<StaffExpense> saved = staffExpenseRepository.saveAll(staffExpenses);
+        List<StaffExpenseSnapshot> created = new ArrayList<>(saved.size());
+        for (StaffExpense expense : saved) {
+            created.add(StaffExpenseSnapshot.of(expense));
+        }
+        dailyRollups.recordStaffExpensesCreated(created);
+        for (StaffExpenseSnapshot after : created) {
+            publishEvent(null, after);
+        }
+        return saved;
     }
     
     /**
@@ -77,13 +144,16 @@ public class StaffExpenseService {
             throw new RuntimeException("Cannot edit expense that has already been paid by company");
         }
         
+        StaffExpenseSnapshot before = StaffExpenseSnapshot.of(existingExpense);
         existingExpense.setAmount(expenseDetails.getAmount());
         existingExpense.setReason(expenseDetails.getReason());
         existingExpense.setExpenseDate(expenseDetails.getExpenseDate());
         existingExpense.setComplaintNumber(expenseDetails.getComplaintNumber());
         existingExpense.setUpdatedAt(LocalDateTime.now());
         
-        return staffExpenseRepository.save(existingExpense);
+        StaffExpense saved = staffExpenseRepository.save(existingExpense);
+        publishChange(before, saved);
+        return saved;
     }
     
     /**
@@ -93,11 +163,14 @@ public class StaffExpenseService {
         StaffExpense expense = staffExpenseRepository.findById(expenseId)
                 .orElseThrow(() -> new RuntimeException("Staff expense not found with id: " + expenseId));
         
+        StaffExpenseSnapshot before = StaffExpenseSnapshot.of(expense);
         expense.setIsPaidByCompany(true);
         expense.setPaidDate(LocalDateTime.now());
         expense.setUpdatedAt(LocalDateTime.now());
         
-        return staffExpenseRepository.save(expense);
+        StaffExpense saved = staffExpenseRepository.save(expense);
+        publishChange(before, saved);
+        return saved;
     }
     
     /**
@@ -107,6 +180,7 @@ public class StaffExpenseService {
         StaffExpense expense = staffExpenseRepository.findById(expenseId)
                 .orElseThrow(() -> new RuntimeException("Staff expense not found with id: " + expenseId));
         
+        StaffExpenseSnapshot before = StaffExpenseSnapshot.of(expense);
         expense.setStatus(status);
         
         // If status is set to PAID, also mark as paid by company
@@ -117,7 +191,9 @@ public class StaffExpenseService {
         
         expense.setUpdatedAt(LocalDateTime.now());
         
-        return staffExpenseRepository.save(expense);
+        StaffExpense saved = staffExpenseRepository.save(expense);
+        publishChange(before, saved);
+        return saved;
     }
     
     /**
@@ -132,12 +208,15 @@ public class StaffExpenseService {
             throw new RuntimeException("Cannot delete expense that has already been paid by company");
         }
         
+        StaffExpenseSnapshot before = StaffExpenseSnapshot.of(expense);
         staffExpenseRepository.delete(expense);
+        publishChange(before, null);
     }
     
     /**
      * Get staff expense by ID
      */
+    @Transactional(readOnly = true)
     public Optional<StaffExpense> getStaffExpenseById(Long expenseId) {
         return staffExpenseRepository.findById(expenseId);
     }
@@ -145,6 +224,7 @@ public class StaffExpenseService {
     /**
      * Get all staff expenses for a specific staff user
      */
+    @Transactional(readOnly = true)
     public List<StaffExpense> getStaffExpensesByUserId(Long staffUserId) {
         return staffExpenseRepository.findByStaffUserIdOrderByCreatedAtDesc(staffUserId);
     }
@@ -152,6 +232,7 @@ public class StaffExpenseService {
     /**
      * Get unpaid staff expenses for a specific staff user
      */
+    @Transactional(readOnly = true)
     public List<StaffExpense> getUnpaidStaffExpensesByUserId(Long staffUserId) {
         return staffExpenseRepository.findByStaffUserIdAndIsPaidByCompanyFalseOrderByCreatedAtDesc(staffUserId);
     }
@@ -159,6 +240,7 @@ public class StaffExpenseService {
     /**
      * Get paid staff expenses for a specific staff user
      */
+    @Transactional(readOnly = true)
     public List<StaffExpense> getPaidStaffExpensesByUserId(Long staffUserId) {
         return staffExpenseRepository.findByStaffUserIdAndIsPaidByCompanyTrueOrderByPaidDateDesc(staffUserId);
     }
@@ -166,26 +248,41 @@ public class StaffExpenseService {
     /**
      * Get all unpaid staff expenses (Admin view)
      */
+    @Transactional(readOnly = true)
     public List<StaffExpense> getAllUnpaidStaffExpenses() {
         return staffExpenseRepository.findByIsPaidByCompanyFalseOrderByCreatedAtDesc();
     }
     
     /**
-     * Get expense statistics for a staff user
+     * Get expense statistics for a staff user, from the in-memory ledger
      */
+    @Transactional(readOnly = true)
     public StaffExpenseStats getStaffExpenseStats(Long staffUserId) {
-        BigDecimal totalAmount = staffExpenseRepository.getTotalAmountByStaffUserId(staffUserId);
-        BigDecimal totalUnpaidAmount = staffExpenseRepository.getTotalUnpaidAmountByStaffUserId(staffUserId);
-        BigDecimal totalPaidAmount = staffExpenseRepository.getTotalPaidAmountByStaffUserId(staffUserId);
-        long unpaidCount = staffExpenseRepository.countByStaffUserIdAndIsPaidByCompanyFalse(staffUserId);
-        long paidCount = staffExpenseRepository.countByStaffUserIdAndIsPaidByCompanyTrue(staffUserId);
-        
-        return new StaffExpenseStats(totalAmount, totalUnpaidAmount, totalPaidAmount, unpaidCount, paidCount);
+        StaffExpenseBalance balance = ledger.getBalance(staffUserId);
+        return new StaffExpenseStats(balance.totalAmount(), balance.unpaidAmount(), balance.paidAmount(),
+                                     balance.unpaidCount(), balance.paidCount());
+    }
+    
+    /**
+     * Get balances of every staff member with expenses (Admin view)
+     */
+    @Transactional(readOnly = true)
+    public List<StaffExpenseBalance> getAllStaffBalances() {
+        return ledger.getAllBalances();
+    }
+    
+    /**
+     * Get staff expense spend per day, week or month, optionally broken down by staff member
+     */
+    @Transactional(readOnly = true)
+    public ExpenseAnalytics getStaffExpenseAnalytics(Bucket bucket, Dimension groupBy, LocalDate from, LocalDate to) {
+        return dailyRollups.getAnalytics(Source.STAFF_EXPENSE, groupBy, bucket, from, to);
     }
     
     /**
      * Search staff expenses by complaint number
      */
+    @Transactional(readOnly = true)
     public List<StaffExpense> searchByComplaintNumber(String complaintNumber) {
         return staffExpenseRepository.findByComplaintNumberContainingIgnoreCaseOrderByCreatedAtDesc(complaintNumber);
     }
@@ -193,6 +290,7 @@ public class StaffExpenseService {
     /**
      * Get staff expenses by date range
      */
+    @Transactional(readOnly = true)
     public List<StaffExpense> getStaffExpensesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return staffExpenseRepository.findByExpenseDateBetweenOrderByExpenseDateDesc(startDate, endDate);
     }
@@ -224,4 +322,19 @@ public class StaffExpenseService {
         public long getPaidCount() { return paidCount; }
         public long getTotalCount() { return unpaidCount + paidCount; }
     }
+    
+    /**
+     * Update the daily rollups and publish a change event, delivered to listeners after commit
+     * Pass the state captured before the change (null on create) and the saved expense (null on delete)
+     */
+    private void publishChange(StaffExpenseSnapshot before, StaffExpense saved) {
+        StaffExpenseSnapshot after = saved != null ? StaffExpenseSnapshot.of(saved) : null;
+        dailyRollups.recordStaffExpenseChange(before, after);
+        publishEvent(before, after);
+    }
+    
+    private void publishEvent(StaffExpenseSnapshot before, StaffExpenseSnapshot after) {
+        StaffExpenseSnapshot current = after != null ? after : before;
+        eventPublisher.publishEvent(new StaffExpenseChangedEvent(current.id(), current.staffUserId(), before, after));
+    }
 }
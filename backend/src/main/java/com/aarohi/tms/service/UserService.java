@@ -4,12 +4,16 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.aarohi.tms.cache.DashboardCache;
 import com.aarohi.tms.entity.Role;
 import com.aarohi.tms.entity.User;
+import com.aarohi.tms.event.UserChangedEvent;
 import com.aarohi.tms.repository.UserRepository;
 
 /**
@@ -25,12 +29,20 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ComplaintService complaintService;
+    
     /**
      * Create a new user
      */
     public User createUser(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        publishChange(saved.getId(), null, saved.getUsername());
+        return saved;
     }
     
     /**
@@ -39,6 +51,7 @@ public class UserService {
     public User updateUser(Long id, User userDetails) {
         User user = userRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        String previousUsername = user.getUsername();
         
         // Validate username uniqueness (if changed)
         if (!user.getUsername().equals(userDetails.getUsername()) && 
@@ -60,6 +73,11 @@ public class UserService {
             throw new RuntimeException("Mobile number is already in use!");
         }
         
+        // Changes to what a token asserts (identity, role, credentials, active state) revoke existing tokens
+        boolean revokeTokens = !previousUsername.equals(userDetails.getUsername())
+                || user.getRole() != userDetails.getRole()
+                || (Boolean.TRUE.equals(user.getIsActive()) && !Boolean.TRUE.equals(userDetails.getIsActive()));
+        
         user.setUsername(userDetails.getUsername());
         user.setEmail(userDetails.getEmail());
         user.setFullName(userDetails.getFullName());
@@ -69,15 +87,25 @@ public class UserService {
         
         // Only update password if provided
         if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
+            if (!passwordEncoder.matches(userDetails.getPassword(), user.getPassword())) {
+                revokeTokens = true;
+            }
             user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
         }
         
-        return userRepository.save(user);
+        if (revokeTokens) {
+            revokeTokens(user);
+        }
+        
+        User saved = userRepository.save(user);
+        publishChange(saved.getId(), previousUsername, saved.getUsername());
+        return saved;
     }
     
     /**
      * Get user by ID
      */
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
@@ -85,6 +113,7 @@ public class UserService {
     /**
      * Get user by username
      */
+    @Transactional(readOnly = true)
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
@@ -92,6 +121,7 @@ public class UserService {
     /**
      * Get all users
      */
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -99,6 +129,7 @@ public class UserService {
     /**
      * Get users by role
      */
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(Role role) {
         return userRepository.findByRole(role);
     }
@@ -106,6 +137,8 @@ public class UserService {
     /**
      * Get active staff members
      */
+    @Cacheable(cacheNames = DashboardCache.Names.ACTIVE_STAFF, keyGenerator = "dashboardCacheKeyGenerator")
+    @Transactional(readOnly = true)
     public List<User> getActiveStaffMembers() {
         return userRepository.findActiveStaffMembers();
     }
@@ -113,6 +146,7 @@ public class UserService {
     /**
      * Get all staff members (active and inactive)
      */
+    @Transactional(readOnly = true)
     public List<User> getAllStaff() {
         return userRepository.findByRole(Role.STAFF);
     }
@@ -123,7 +157,11 @@ public class UserService {
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        // Assigned complaints go with the user; delete them through the complaint service
+        // first so their expense rollups, tombstones and events are recorded
+        complaintService.deleteComplaintsAssignedTo(id);
         userRepository.delete(user);
+        publishChange(id, user.getUsername(), null);
     }
     
     /**
@@ -133,7 +171,10 @@ public class UserService {
         User user = userRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         user.setIsActive(false);
-        return userRepository.save(user);
+        revokeTokens(user);
+        User saved = userRepository.save(user);
+        publishChange(saved.getId(), saved.getUsername(), saved.getUsername());
+        return saved;
     }
     
     /**
@@ -143,7 +184,9 @@ public class UserService {
         User user = userRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         user.setIsActive(true);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        publishChange(saved.getId(), saved.getUsername(), saved.getUsername());
+        return saved;
     }
     
     /**
@@ -173,6 +216,8 @@ public class UserService {
     /**
      * Get user statistics
      */
+    @Cacheable(cacheNames = DashboardCache.Names.USER_STATS, keyGenerator = "dashboardCacheKeyGenerator")
+    @Transactional(readOnly = true)
     public UserStats getUserStats() {
         Long totalUsers = userRepository.count();
         Long totalAdmins = userRepository.countActiveUsersByRole(Role.ADMIN);
@@ -205,4 +250,18 @@ public class UserService {
         public void setTotalAdmins(Long totalAdmins) { this.totalAdmins = totalAdmins; }
         public void setTotalStaff(Long totalStaff) { this.totalStaff = totalStaff; }
     }
+    
+    /**
+     * Bump the token version so tokens issued so far stop authenticating
+     */
+    private void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+    }
+    
+    /**
+     * Publish a change event, delivered to listeners after commit
+     */
+    private void publishChange(Long userId, String previousUsername, String username) {
+        eventPublisher.publishEvent(new UserChangedEvent(userId, previousUsername, username));
+    }
 }
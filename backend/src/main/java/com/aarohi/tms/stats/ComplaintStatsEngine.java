@@ -0,0 +1,179 @@
+package com.aarohi.tms.stats;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aarohi.tms.dto.ComplaintSnapshot;
+import com.aarohi.tms.dto.StatusPriorityCount;
+import com.aarohi.tms.entity.Priority;
+import com.aarohi.tms.entity.Status;
+import com.aarohi.tms.event.ComplaintChangedEvent;
+import com.aarohi.tms.repository.ComplaintRepository;
+
+/**
+ * In-memory complaint counters per (status, priority)
+ *
+ * Loaded with a single GROUP BY query at startup, then maintained from committed
+ * ComplaintChangedEvents. A scheduled reconciliation compares the counters with the
+ * database and corrects a difference only when the next run sees the same one: changes
+ * committing while a run loads show up once and are left to their event, while drift
+ * (e.g. rows changed outside the application) stays put. Corrections are added to the
+ * live counters, never swapped in, so no concurrent event is lost.
+ */
+@Component
+public class ComplaintStatsEngine {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintStatsEngine.class);
+    
+    // Last slot of each dimension counts rows with a null status or priority
+    private static final int STATUS_SLOTS = Status.values().length + 1;
+    private static final int PRIORITY_SLOTS = Priority.values().length + 1;
+    
+    @Autowired
+    private ComplaintRepository complaintRepository;
+    
+    private volatile LongAdder[][] counters = newCounters();
+    private volatile boolean ready = false;
+    
+    // Differences seen by the last reconciliation and not corrected yet
+    private long[][] pendingDifferences = new long[STATUS_SLOTS][PRIORITY_SLOTS];
+    
+    /**
+     * Load counters at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        counters = load();
+        ready = true;
+        logger.info("Complaint stats loaded: {} complaints", total(counters));
+    }
+    
+    /**
+     * Periodically correct counters that differ from the database in two runs in a row
+     */
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!ready) {
+            return;
+        }
+        LongAdder[][] fresh = load();
+        LongAdder[][] current = counters;
+        long[][] differences = new long[STATUS_SLOTS][PRIORITY_SLOTS];
+        long drift = 0;
+        for (int s = 0; s < STATUS_SLOTS; s++) {
+            for (int p = 0; p < PRIORITY_SLOTS; p++) {
+                long difference = fresh[s][p].sum() - current[s][p].sum();
+                if (difference != 0 && difference == pendingDifferences[s][p]) {
+                    current[s][p].add(difference);
+                    drift += Math.abs(difference);
+                } else {
+                    differences[s][p] = difference;
+                }
+            }
+        }
+        pendingDifferences = differences;
+        if (drift > 0) {
+            logger.warn("Complaint stats reconciled, corrected drift of {}", drift);
+        }
+    }
+    
+    /**
+     * Apply a committed complaint change
+     */
+    @TransactionalEventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        LongAdder[][] current = counters;
+        ComplaintSnapshot before = event.getBefore();
+        ComplaintSnapshot after = event.getAfter();
+        if (before != null) {
+            current[statusSlot(before.status())][prioritySlot(before.priority())].decrement();
+        }
+        if (after != null) {
+            current[statusSlot(after.status())][prioritySlot(after.priority())].increment();
+        }
+    }
+    
+    /**
+     * Total complaints
+     */
+    public long getTotal() {
+        return ready ? total(counters) : complaintRepository.count();
+    }
+    
+    /**
+     * Complaints with a status
+     */
+    public long countByStatus(Status status) {
+        if (!ready) {
+            return complaintRepository.countByStatus(status);
+        }
+        long sum = 0;
+        for (LongAdder counter : counters[statusSlot(status)]) {
+            sum += counter.sum();
+        }
+        return sum;
+    }
+    
+    /**
+     * Complaints with a priority
+     */
+    public long countByPriority(Priority priority) {
+        if (!ready) {
+            return complaintRepository.countByPriority(priority);
+        }
+        LongAdder[][] current = counters;
+        int p = prioritySlot(priority);
+        long sum = 0;
+        for (int s = 0; s < STATUS_SLOTS; s++) {
+            sum += current[s][p].sum();
+        }
+        return sum;
+    }
+    
+    private LongAdder[][] load() {
+        LongAdder[][] loaded = newCounters();
+        List<StatusPriorityCount> groups = complaintRepository.countGroupedByStatusAndPriority();
+        for (StatusPriorityCount group : groups) {
+            loaded[statusSlot(group.status())][prioritySlot(group.priority())].add(group.count());
+        }
+        return loaded;
+    }
+    
+    private static long total(LongAdder[][] counters) {
+        long sum = 0;
+        for (LongAdder[] row : counters) {
+            for (LongAdder counter : row) {
+                sum += counter.sum();
+            }
+        }
+        return sum;
+    }
+    
+    private static LongAdder[][] newCounters() {
+        LongAdder[][] fresh = new LongAdder[STATUS_SLOTS][PRIORITY_SLOTS];
+        for (int s = 0; s < STATUS_SLOTS; s++) {
+            for (int p = 0; p < PRIORITY_SLOTS; p++) {
+                fresh[s][p] = new LongAdder();
+            }
+        }
+        return fresh;
+    }
+    
+    private static int statusSlot(Status status) {
+        return status != null ? status.ordinal() : STATUS_SLOTS - 1;
+    }
+    
+    private static int prioritySlot(Priority priority) {
+        return priority != null ? priority.ordinal() : PRIORITY_SLOTS - 1;
+    }
+}
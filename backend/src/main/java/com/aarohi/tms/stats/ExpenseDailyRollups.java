@@ -0,0 +1,382 @@
+package com.aarohi.tms.stats;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aarohi.tms.dto.ExpenseAnalytics;
+import com.aarohi.tms.dto.ExpenseAnalytics.Bucket;
+import com.aarohi.tms.dto.ExpenseAnalytics.Point;
+import com.aarohi.tms.dto.ExpenseRollupRow;
+import com.aarohi.tms.dto.StaffExpenseSnapshot;
+import com.aarohi.tms.entity.Complaint;
+import com.aarohi.tms.entity.ComplaintType;
+import com.aarohi.tms.entity.Expense;
+import com.aarohi.tms.entity.ExpenseDailyRollup;
+import com.aarohi.tms.entity.ExpenseDailyRollup.Dimension;
+import com.aarohi.tms.entity.ExpenseDailyRollup.Source;
+import com.aarohi.tms.entity.User;
+import com.aarohi.tms.event.ExpenseChangedEvent;
+import com.aarohi.tms.event.StaffExpenseChangedEvent;
+import com.aarohi.tms.repository.ExpenseDailyRollupRepository;
+import com.aarohi.tms.repository.ExpenseRepository;
+import com.aarohi.tms.repository.StaffExpenseRepository;
+import com.aarohi.tms.repository.UserRepository;
+
+/**
+ * Daily expense and staff expense rollups, overall and per staff, vendor and complaint type
+ *
+ * Every write applies its deltas here inside the caller's transaction, so the rollups
+ * commit or roll back together with the expense. Deltas are summed per row first and
+ * applied in primary key order to keep row lock order stable. Call these before any
+ * running-total or complaint update of the same transaction. Analytics read at most
+ * one row per day and group and sum weeks and months from them.
+ */
+@Component
+public class ExpenseDailyRollups {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseDailyRollups.class);
+    
+    /**
+     * Longest range one analytics request may cover
+     */
+    public static final int MAX_RANGE_DAYS = 366;
+    
+    @Autowired
+    private ExpenseDailyRollupRepository rollupRepository;
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Autowired
+    private StaffExpenseRepository staffExpenseRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Count a new expense
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordExpenseCreated(Expense expense) {
+        Deltas deltas = new Deltas();
+        addExpense(deltas, expense, expense.getVendorName(), 1, expense.getAmount());
+        deltas.apply();
+    }
+    
+    /**
+     * Move an updated expense from its previous amount and vendor
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordExpenseUpdated(Expense expense, BigDecimal previousAmount, String previousVendorName) {
+        Deltas deltas = new Deltas();
+        addExpense(deltas, expense, previousVendorName, -1, negate(previousAmount));
+        addExpense(deltas, expense, expense.getVendorName(), 1, expense.getAmount());
+        deltas.apply();
+    }
+    
+    /**
+     * Remove a deleted expense
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordExpenseDeleted(Expense expense) {
+        Deltas deltas = new Deltas();
+        addExpense(deltas, expense, expense.getVendorName(), -1, negate(expense.getAmount()));
+        deltas.apply();
+    }
+    
+    /**
+     * Move a complaint's expenses to a new complaint type
+     * Call before changing the complaint, so its row is locked after the rollups
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordComplaintTypeChange(Complaint complaint, ComplaintType newType) {
+        Deltas deltas = new Deltas();
+        for (Expense expense : complaint.getExpenses()) {
+            LocalDate day = day(expense);
+            if (day != null) {
+                deltas.add(Source.EXPENSE, Dimension.COMPLAINT_TYPE, day,
+                           ExpenseDailyRollup.groupKey(complaint.getComplaintType()), -1, negate(expense.getAmount()));
+                deltas.add(Source.EXPENSE, Dimension.COMPLAINT_TYPE, day,
+                           ExpenseDailyRollup.groupKey(newType), 1, expense.getAmount());
+            }
+        }
+        deltas.apply();
+    }
+    
+    /**
+     * Remove the expenses of a complaint about to be deleted (they go with it by cascade)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordComplaintDeleted(Complaint complaint) {
+        Deltas deltas = new Deltas();
+        for (Expense expense : complaint.getExpenses()) {
+            addExpense(deltas, expense, expense.getVendorName(), -1, negate(expense.getAmount()));
+        }
+        deltas.apply();
+    }
+    
+    /**
+     * Apply a staff expense change, given its state before (null on create) and after (null on delete)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStaffExpenseChange(StaffExpenseSnapshot before, StaffExpenseSnapshot after) {
+        Deltas deltas = new Deltas();
+        if (before != null) {
+            addStaffExpense(deltas, before, -1, negate(before.amount()));
+        }
+        if (after != null) {
+            addStaffExpense(deltas, after, 1, after.amount());
+        }
+        deltas.apply();
+    }
+    
+    /**
+     * Count a batch of new staff expenses with one upsert per touched row
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStaffExpensesCreated(List<StaffExpenseSnapshot> created) {
+        Deltas deltas = new Deltas();
+        for (StaffExpenseSnapshot expense : created) {
+            addStaffExpense(deltas, expense, 1, expense.amount());
+        }
+        deltas.apply();
+    }
+    
+    /**
+     * Spend per bucket between two days, optionally broken down by one dimension
+     * to defaults to today and from to the bucket's default chart length; from is moved
+     * back to the start of its bucket
+     */
+    @Transactional(readOnly = true)
+    public ExpenseAnalytics getAnalytics(Source source, Dimension groupBy, Bucket bucket, LocalDate from, LocalDate to) {
+        if (source == Source.STAFF_EXPENSE && groupBy != Dimension.ALL && groupBy != Dimension.STAFF) {
+            throw new IllegalArgumentException("Staff expenses can only be grouped by ALL or STAFF");
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate requestedStart = from != null ? from : bucket.defaultFrom(end);
+        if (requestedStart.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        // Capped on the range asked for; aligning to the first bucket may add up to a month
+        if (ChronoUnit.DAYS.between(requestedStart, end) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must be at most " + MAX_RANGE_DAYS + " days");
+        }
+        LocalDate start = bucket.start(requestedStart);
+        
+        Map<PointKey, Point> points = new TreeMap<>(Comparator.comparing(PointKey::periodStart)
+                .thenComparing(PointKey::groupKey));
+        for (ExpenseRollupRow row : rollupRepository.findRows(source, groupBy, start, end)) {
+            PointKey key = new PointKey(bucket.start(row.day()), row.groupKey());
+            points.merge(key, new Point(key.periodStart(), key.groupKey(), null, row.count(), row.amount()),
+                         (a, b) -> new Point(a.periodStart(), a.groupKey(), null,
+                                             a.expenseCount() + b.expenseCount(), a.totalAmount().add(b.totalAmount())));
+        }
+        
+        Map<String, String> labels = labels(groupBy, points.keySet());
+        List<Point> result = new ArrayList<>(points.size());
+        for (Point point : points.values()) {
+            result.add(new Point(point.periodStart(), point.groupKey(), labels.get(point.groupKey()),
+                                 point.expenseCount(), point.totalAmount()));
+        }
+        return new ExpenseAnalytics(source, bucket, groupBy, start, end, result);
+    }
+    
+    /**
+     * Recompute every rollup from the expense tables
+     * Needed only when expenses were written outside the application
+     */
+    @Transactional
+    public void rebuild() {
+        int rows = reconcile(Source.EXPENSE) + reconcile(Source.STAFF_EXPENSE);
+        rollupRepository.deleteEmptyRows();
+        logger.info("Expense daily rollups rebuilt: {} rows corrected", rows);
+    }
+    
+    /**
+     * Correct rollups that drifted from the expense tables
+     * Only the difference is added, so writes committing meanwhile are not lost
+     */
+    @Scheduled(cron = "${app.expenses.rollup-repair-cron:0 0 4 * * *}")
+    @Transactional
+    public void repair() {
+        int expenseRows = reconcile(Source.EXPENSE);
+        int staffExpenseRows = reconcile(Source.STAFF_EXPENSE);
+        rollupRepository.deleteEmptyRows();
+        if (expenseRows > 0) {
+            logger.warn("Expense daily rollups repaired, corrected drift on {} rows", expenseRows);
+            eventPublisher.publishEvent(new ExpenseChangedEvent(null, null));
+        }
+        if (staffExpenseRows > 0) {
+            logger.warn("Staff expense daily rollups repaired, corrected drift on {} rows", staffExpenseRows);
+            eventPublisher.publishEvent(new StaffExpenseChangedEvent(null, null, null, null));
+        }
+    }
+    
+    private int reconcile(Source source) {
+        if (source == Source.EXPENSE) {
+            return reconcile(source, Dimension.ALL, expenseRepository.sumDaily())
+                    + reconcile(source, Dimension.STAFF, expenseRepository.sumDailyByUser())
+                    + reconcile(source, Dimension.VENDOR, expenseRepository.sumDailyByVendor())
+                    + reconcile(source, Dimension.COMPLAINT_TYPE, expenseRepository.sumDailyByComplaintType());
+        }
+        return reconcile(source, Dimension.ALL, staffExpenseRepository.sumDaily())
+                + reconcile(source, Dimension.STAFF, staffExpenseRepository.sumDailyByStaff());
+    }
+    
+    private int reconcile(Source source, Dimension dimension, List<ExpenseRollupRow> actual) {
+        Map<PointKey, ExpenseRollupRow> stored = new HashMap<>();
+        for (ExpenseRollupRow row : rollupRepository.findAllRows(source, dimension)) {
+            stored.put(new PointKey(row.day(), row.groupKey()), row);
+        }
+        Deltas deltas = new Deltas();
+        for (ExpenseRollupRow row : actual) {
+            ExpenseRollupRow current = stored.remove(new PointKey(row.day(), row.groupKey()));
+            long count = row.count() - (current != null ? current.count() : 0);
+            BigDecimal amount = orZero(row.amount()).subtract(current != null ? current.amount() : BigDecimal.ZERO);
+            deltas.add(source, dimension, row.day(), row.groupKey(), count, amount);
+        }
+        for (ExpenseRollupRow leftover : stored.values()) {
+            deltas.add(source, dimension, leftover.day(), leftover.groupKey(), -leftover.count(), leftover.amount().negate());
+        }
+        return deltas.apply();
+    }
+    
+    private void addExpense(Deltas deltas, Expense expense, String vendorName, long count, BigDecimal amount) {
+        LocalDate day = day(expense);
+        if (day == null) {
+            return;
+        }
+        Complaint complaint = expense.getComplaint();
+        deltas.add(Source.EXPENSE, Dimension.ALL, day, ExpenseDailyRollup.NO_GROUP, count, amount);
+        deltas.add(Source.EXPENSE, Dimension.STAFF, day,
+                   ExpenseDailyRollup.groupKey(expense.getAddedBy() != null ? expense.getAddedBy().getId() : null), count, amount);
+        deltas.add(Source.EXPENSE, Dimension.VENDOR, day, ExpenseDailyRollup.vendorKey(vendorName), count, amount);
+        deltas.add(Source.EXPENSE, Dimension.COMPLAINT_TYPE, day,
+                   ExpenseDailyRollup.groupKey(complaint != null ? complaint.getComplaintType() : null), count, amount);
+    }
+    
+    private void addStaffExpense(Deltas deltas, StaffExpenseSnapshot expense, long count, BigDecimal amount) {
+        if (expense.expenseDay() == null) {
+            return;
+        }
+        deltas.add(Source.STAFF_EXPENSE, Dimension.ALL, expense.expenseDay(), ExpenseDailyRollup.NO_GROUP, count, amount);
+        deltas.add(Source.STAFF_EXPENSE, Dimension.STAFF, expense.expenseDay(),
+                   ExpenseDailyRollup.groupKey(expense.staffUserId()), count, amount);
+    }
+    
+    private Map<String, String> labels(Dimension groupBy, Iterable<PointKey> keys) {
+        Map<String, String> labels = new HashMap<>();
+        List<Long> userIds = new ArrayList<>();
+        for (PointKey key : keys) {
+            String groupKey = key.groupKey();
+            if (labels.containsKey(groupKey)) {
+                continue;
+            }
+            switch (groupBy) {
+                case ALL:
+                    labels.put(groupKey, "All");
+                    break;
+                case STAFF:
+                    labels.put(groupKey, groupKey.isEmpty() ? "Unassigned" : "User " + groupKey);
+                    if (!groupKey.isEmpty()) {
+                        userIds.add(Long.valueOf(groupKey));
+                    }
+                    break;
+                case VENDOR:
+                    labels.put(groupKey, groupKey.isEmpty() ? "No vendor" : groupKey);
+                    break;
+                default:
+                    labels.put(groupKey, groupKey.isEmpty() ? "Unspecified" : groupKey);
+                    break;
+            }
+        }
+        for (User user : userRepository.findAllById(userIds)) {
+            labels.put(String.valueOf(user.getId()), user.getFullName());
+        }
+        return labels;
+    }
+    
+    private static LocalDate day(Expense expense) {
+        return expense.getExpenseDate() != null ? expense.getExpenseDate().toLocalDate() : null;
+    }
+    
+    private static BigDecimal orZero(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
+    }
+    
+    private static BigDecimal negate(BigDecimal amount) {
+        return orZero(amount).negate();
+    }
+    
+    /**
+     * Day (or bucket start) and group of one point
+     */
+    private record PointKey(LocalDate periodStart, String groupKey) {
+    }
+    
+    /**
+     * Row key of one pending delta, ordered like the primary key
+     */
+    private record RowKey(Source source, Dimension dimension, LocalDate day, String groupKey) {
+    }
+    
+    /**
+     * Deltas summed per rollup row, applied in primary key order
+     */
+    private class Deltas {
+        private final Map<RowKey, Delta> rows = new TreeMap<>(Comparator.comparing(RowKey::source)
+                .thenComparing(RowKey::dimension)
+                .thenComparing(RowKey::day)
+                .thenComparing(RowKey::groupKey));
+        
+        void add(Source source, Dimension dimension, LocalDate day, String groupKey, long count, BigDecimal amount) {
+            Delta delta = rows.computeIfAbsent(new RowKey(source, dimension, day, groupKey), k -> new Delta());
+            delta.count += count;
+            delta.amount = delta.amount.add(orZero(amount));
+        }
+        
+        /**
+         * Upsert every non-zero delta, returning how many rows were touched
+         */
+        int apply() {
+            int applied = 0;
+            for (Map.Entry<RowKey, Delta> entry : rows.entrySet()) {
+                RowKey key = entry.getKey();
+                Delta delta = entry.getValue();
+                if (delta.count != 0 || delta.amount.signum() != 0) {
+                    rollupRepository.addDelta(key.source().name(), key.dimension().name(), key.day(), key.groupKey(),
+                                              delta.count, delta.amount);
+                    applied++;
+                }
+            }
+            return applied;
+        }
+    }
+    
+    /**
+     * Accumulated change for one rollup row
+     */
+    private static class Delta {
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+    }
+}
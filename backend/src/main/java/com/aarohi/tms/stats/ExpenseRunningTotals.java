@@ -0,0 +1,182 @@
+package com.aarohi.tms.stats;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aarohi.tms.dto.ExpenseTotals;
+import com.aarohi.tms.entity.Complaint;
+import com.aarohi.tms.entity.Expense;
+import com.aarohi.tms.entity.ExpenseRunningTotal;
+import com.aarohi.tms.entity.ExpenseRunningTotal.Scope;
+import com.aarohi.tms.event.ExpenseChangedEvent;
+import com.aarohi.tms.repository.ComplaintRepository;
+import com.aarohi.tms.repository.ExpenseRunningTotalRepository;
+
+/**
+ * Running expense totals per day and per user, plus the rollup columns on complaints
+ *
+ * Every expense write applies its count and amount delta here inside the caller's
+ * transaction, so the totals commit or roll back together with the expense. Rows
+ * are always touched in DAY, USER, complaint order to keep row lock order stable;
+ * record new expenses before inserting them, as the insert's foreign key check
+ * share-locks the complaint row.
+ */
+@Component
+public class ExpenseRunningTotals {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseRunningTotals.class);
+    
+    @Autowired
+    private ExpenseRunningTotalRepository totalRepository;
+    
+    @Autowired
+    private ComplaintRepository complaintRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Count a new expense
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Expense expense) {
+        apply(expense, 1, expense.getAmount());
+    }
+    
+    /**
+     * Move an updated expense's amount from its previous value
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAmountChange(Expense expense, BigDecimal previousAmount) {
+        BigDecimal delta = expense.getAmount().subtract(previousAmount);
+        if (delta.signum() != 0) {
+            apply(expense, 0, delta);
+        }
+    }
+    
+    /**
+     * Remove a deleted expense
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Expense expense) {
+        apply(expense, -1, expense.getAmount().negate());
+    }
+    
+    /**
+     * Remove the expenses of a complaint about to be deleted (they go with it by cascade)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordComplaintDeleted(Complaint complaint) {
+        Map<Long, Delta> days = new TreeMap<>();
+        Map<Long, Delta> users = new TreeMap<>();
+        for (Expense expense : complaint.getExpenses()) {
+            LocalDate date = expense.getExpenseDate() != null ? expense.getExpenseDate().toLocalDate() : null;
+            days.computeIfAbsent(ExpenseRunningTotal.dayKey(date), k -> new Delta()).subtract(expense.getAmount());
+            if (expense.getAddedBy() != null) {
+                users.computeIfAbsent(expense.getAddedBy().getId(), k -> new Delta()).subtract(expense.getAmount());
+            }
+        }
+        days.forEach((key, delta) -> add(Scope.DAY, key, delta.count, delta.amount));
+        users.forEach((key, delta) -> add(Scope.USER, key, delta.count, delta.amount));
+    }
+    
+    /**
+     * Count and amount of all expenses
+     */
+    public ExpenseTotals getTotals() {
+        return totalRepository.sumFrom(Scope.DAY, 0);
+    }
+    
+    /**
+     * Count and amount of expenses dated on or after a day
+     */
+    public ExpenseTotals getTotalsSince(LocalDate from) {
+        return totalRepository.sumFrom(Scope.DAY, ExpenseRunningTotal.dayKey(from));
+    }
+    
+    /**
+     * Total amount of expenses for a complaint
+     */
+    public BigDecimal getComplaintAmount(Long complaintId) {
+        BigDecimal total = complaintRepository.findExpenseTotalById(complaintId);
+        return total != null ? total : BigDecimal.ZERO;
+    }
+    
+    /**
+     * Total amount of expenses added by a user
+     */
+    public BigDecimal getUserAmount(Long userId) {
+        return amount(Scope.USER, userId);
+    }
+    
+    /**
+     * Recompute every running total from the expenses table
+     * Needed only when expenses were written outside the application
+     */
+    @Transactional
+    public void rebuild() {
+        totalRepository.deleteAllTotals();
+        int rows = totalRepository.rebuildDayTotals() + totalRepository.rebuildUserTotals();
+        int complaints = complaintRepository.repairExpenseRollups(LocalDateTime.now());
+        logger.info("Expense running totals rebuilt: {} rows, {} complaint rollups", rows, complaints);
+    }
+    
+    /**
+     * Recompute complaint expense rollups that drifted from the expenses table
+     */
+    @Scheduled(cron = "${app.expenses.rollup-repair-cron:0 0 4 * * *}")
+    @Transactional
+    public void repairComplaintRollups() {
+        int repaired = complaintRepository.repairExpenseRollups(LocalDateTime.now());
+        if (repaired > 0) {
+            logger.warn("Complaint expense rollups repaired, corrected drift on {} complaints", repaired);
+            eventPublisher.publishEvent(new ExpenseChangedEvent(null, null));
+        }
+    }
+    
+    private void apply(Expense expense, long count, BigDecimal amount) {
+        LocalDate date = expense.getExpenseDate() != null ? expense.getExpenseDate().toLocalDate() : null;
+        add(Scope.DAY, ExpenseRunningTotal.dayKey(date), count, amount);
+        if (expense.getAddedBy() != null) {
+            add(Scope.USER, expense.getAddedBy().getId(), count, amount);
+        }
+        if (expense.getComplaint() != null) {
+            complaintRepository.addExpenseDelta(expense.getComplaint().getId(), count, amount, LocalDateTime.now());
+        }
+    }
+    
+    private void add(Scope scope, long key, long count, BigDecimal amount) {
+        totalRepository.addDelta(scope.name(), key, count, amount);
+    }
+    
+    private BigDecimal amount(Scope scope, Long key) {
+        return totalRepository.findById(new ExpenseRunningTotal.Key(scope, key))
+            .map(ExpenseRunningTotal::getTotalAmount)
+            .orElse(BigDecimal.ZERO);
+    }
+    
+    /**
+     * Accumulated removal for one running total
+     */
+    private static class Delta {
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+        
+        void subtract(BigDecimal value) {
+            count--;
+            amount = amount.subtract(value);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.aarohi.tms.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aarohi.tms.dto.StaffExpenseBalance;
+import com.aarohi.tms.dto.StaffExpenseSnapshot;
+import com.aarohi.tms.event.StaffExpenseChangedEvent;
+import com.aarohi.tms.repository.StaffExpenseRepository;
+
+/**
+ * In-memory staff expense balances per staff member
+ *
+ * Loaded with a single conditional-aggregation query at startup, then maintained from
+ * committed StaffExpenseChangedEvents by removing the before state and adding the after
+ * state. A scheduled reconciliation compares the balances with the database and corrects
+ * a difference only when the next run sees the same one: changes committing while a run
+ * loads are not applied to the balances yet (or already are), so they show up once and
+ * are left to their event, while real drift stays put. Corrections are added to the live
+ * balances, never swapped in, so no concurrent event is lost.
+ */
+@Component
+public class StaffExpenseLedger {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StaffExpenseLedger.class);
+    
+    @Autowired
+    private StaffExpenseRepository staffExpenseRepository;
+    
+    private volatile Map<Long, StaffExpenseBalance> balances = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    
+    // Differences seen by the last reconciliation and not corrected yet, by staff id
+    private Map<Long, StaffExpenseBalance> pendingDifferences = new HashMap<>();
+    
+    /**
+     * Load balances at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        balances = load();
+        ready = true;
+        logger.info("Staff expense ledger loaded: {} staff balances", balances.size());
+    }
+    
+    /**
+     * Periodically correct balances that differ from the database in two runs in a row
+     */
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!ready) {
+            return;
+        }
+        Map<Long, StaffExpenseBalance> fresh = load();
+        Map<Long, StaffExpenseBalance> current = balances;
+        Set<Long> staffUserIds = new HashSet<>(fresh.keySet());
+        staffUserIds.addAll(current.keySet());
+        
+        Map<Long, StaffExpenseBalance> differences = new HashMap<>();
+        long corrected = 0;
+        for (Long staffUserId : staffUserIds) {
+            StaffExpenseBalance difference = orEmpty(staffUserId, fresh.get(staffUserId))
+                    .minus(orEmpty(staffUserId, current.get(staffUserId)));
+            if (sameBalance(difference, StaffExpenseBalance.empty(staffUserId))) {
+                continue;
+            }
+            if (sameBalance(difference, pendingDifferences.get(staffUserId))) {
+                current.compute(staffUserId, (id, b) -> orEmpty(id, b).plus(difference));
+                corrected++;
+            } else {
+                differences.put(staffUserId, difference);
+            }
+        }
+        pendingDifferences = differences;
+        if (corrected > 0) {
+            logger.warn("Staff expense ledger reconciled, corrected {} staff balances", corrected);
+        }
+    }
+    
+    /**
+     * Apply a committed staff expense change
+     */
+    @TransactionalEventListener
+    public void onStaffExpenseChanged(StaffExpenseChangedEvent event) {
+        Map<Long, StaffExpenseBalance> current = balances;
+        StaffExpenseSnapshot before = event.getBefore();
+        StaffExpenseSnapshot after = event.getAfter();
+        if (before != null && before.staffUserId() != null) {
+            current.compute(before.staffUserId(), (id, b) -> orEmpty(id, b).apply(before, -1));
+        }
+        if (after != null && after.staffUserId() != null) {
+            current.compute(after.staffUserId(), (id, b) -> orEmpty(id, b).apply(after, 1));
+        }
+    }
+    
+    /**
+     * Balance of one staff member
+     */
+    public StaffExpenseBalance getBalance(Long staffUserId) {
+        if (!ready) {
+            StaffExpenseBalance balance = staffExpenseRepository.findBalanceByStaffUserId(staffUserId);
+            return orEmpty(staffUserId, balance);
+        }
+        return orEmpty(staffUserId, balances.get(staffUserId));
+    }
+    
+    /**
+     * Balances of every staff member with expenses, by staff id
+     */
+    public List<StaffExpenseBalance> getAllBalances() {
+        if (!ready) {
+            return staffExpenseRepository.findAllBalances();
+        }
+        List<StaffExpenseBalance> all = new ArrayList<>();
+        for (StaffExpenseBalance balance : balances.values()) {
+            if (balance.hasExpenses()) {
+                all.add(balance);
+            }
+        }
+        all.sort(Comparator.comparing(StaffExpenseBalance::staffUserId));
+        return all;
+    }
+    
+    private Map<Long, StaffExpenseBalance> load() {
+        Map<Long, StaffExpenseBalance> loaded = new ConcurrentHashMap<>();
+        for (StaffExpenseBalance balance : staffExpenseRepository.findAllBalances()) {
+            loaded.put(balance.staffUserId(), balance);
+        }
+        return loaded;
+    }
+    
+    private static boolean sameBalance(StaffExpenseBalance a, StaffExpenseBalance b) {
+        return b != null
+            && a.unpaidCount().equals(b.unpaidCount())
+            && a.paidCount().equals(b.paidCount())
+            && a.totalAmount().compareTo(b.totalAmount()) == 0
+            && a.unpaidAmount().compareTo(b.unpaidAmount()) == 0
+            && a.paidAmount().compareTo(b.paidAmount()) == 0
+            && a.advancePaid().compareTo(b.advancePaid()) == 0;
+    }
+    
+    private static StaffExpenseBalance orEmpty(Long staffUserId, StaffExpenseBalance balance) {
+        return balance != null ? balance : StaffExpenseBalance.empty(staffUserId);
+    }
+}
@@ -0,0 +1,205 @@
+package com.aarohi.tms.stream;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.aarohi.tms.dto.ComplaintChange;
+import com.aarohi.tms.dto.ComplaintSnapshot;
+import com.aarohi.tms.event.ComplaintChangedEvent;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fan-out hub pushing committed complaint changes to Server-Sent Event subscribers
+ *
+ * Every subscriber has a bounded buffer drained by a small sender pool, so publishing
+ * never blocks on a client. When a slow client's buffer fills up its backlog is dropped
+ * and replaced by a single "resync" event telling it to refetch its lists.
+ */
+@Component
+public class ComplaintStreamHub {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintStreamHub.class);
+    
+    private static final long RECONNECT_DELAY_MS = 5000;
+    
+    @Value("${app.stream.max-subscribers:200}")
+    private int maxSubscribers;
+    
+    @Value("${app.stream.buffer-size:64}")
+    private int bufferSize;
+    
+    @Value("${app.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+    
+    @Value("${app.stream.sender-threads:4}")
+    private int senderThreads;
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private ExecutorService senders;
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "complaint-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+    
+    /**
+     * Open a stream for one client
+     * staffId limits the stream to complaints assigned to (or taken from) that staff member;
+     * null receives every change
+     *
+     * @throws IllegalStateException when the subscriber limit has been reached
+     */
+    public SseEmitter subscribe(Long staffId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many complaint stream subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, staffId, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        
+        offer(subscriber, SseEmitter.event().name("ready").reconnectTime(RECONNECT_DELAY_MS).data(sequence.get()));
+        logger.debug("Complaint stream opened (staff {}), {} subscribers", staffId, subscribers.size());
+        return emitter;
+    }
+    
+    /**
+     * Push a committed change to every interested subscriber
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        ComplaintChange change = ComplaintChange.of(sequence.incrementAndGet(), event);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                offer(subscriber, SseEmitter.event()
+                        .id(String.valueOf(change.sequence()))
+                        .name("complaint")
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+    
+    /**
+     * Comment line keeping idle connections open through proxies and mobile networks
+     */
+    @Scheduled(fixedRateString = "${app.stream.heartbeat-ms:20000}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, SseEmitter.event().comment("keepalive"));
+        }
+    }
+    
+    private void offer(Subscriber subscriber, SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            // Slow consumer: drop the backlog instead of buffering without bound
+            subscriber.queue.clear();
+            subscriber.queue.offer(SseEmitter.event().name("resync").data("buffer overflow"));
+        }
+        schedule(subscriber);
+    }
+    
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+    
+    /**
+     * Write queued events to one client; at most one drain runs per subscriber
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container completes the emitter
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            logger.debug("Complaint stream closed: {}", e.getMessage());
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was reset
+        if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+    
+    /**
+     * One open SSE connection
+     */
+    private static final class Subscriber {
+        
+        private final SseEmitter emitter;
+        private final Long staffId;
+        private final BlockingQueue<SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        
+        private Subscriber(SseEmitter emitter, Long staffId, int bufferSize) {
+            this.emitter = emitter;
+            this.staffId = staffId;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+        
+        /**
+         * Staff see changes to complaints assigned to them before or after the change
+         */
+        private boolean accepts(ComplaintChangedEvent event) {
+            if (staffId == null) {
+                return true;
+            }
+            return isAssignedTo(event.getBefore()) || isAssignedTo(event.getAfter());
+        }
+        
+        private boolean isAssignedTo(ComplaintSnapshot snapshot) {
+            return snapshot != null && Objects.equals(staffId, snapshot.assignedStaffId());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+-- Baseline schema, matching what Hibernate generated with ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate),
+-- so this script only runs against empty databases.
+
+CREATE TABLE users (
+    id bigint NOT NULL AUTO_INCREMENT,
+    username varchar(50),
+    email varchar(100),
+    full_name varchar(100),
+    mobile_number varchar(15),
+    password varchar(120),
+    role enum ('ADMIN','STAFF'),
+    created_date datetime(6),
+    is_active bit,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_r43af9ap4edm43mmtq01oddj6 UNIQUE (username)
+) ENGINE=InnoDB;
+
+CREATE TABLE complaints (
+    id bigint NOT NULL AUTO_INCREMENT,
+    customer_name varchar(100),
+    mobile_number varchar(15),
+    email varchar(100),
+    address varchar(500),
+    city varchar(50),
+    state varchar(50),
+    machine_name_model varchar(100),
+    problem_description varchar(1000),
+    created_date datetime(6),
+    under_warranty bit,
+    machine_purchase_date date,
+    complaint_type enum ('MACHINE_REPAIR','DEMO','MACHINE_ENQUIRY','TRAINING','OTHERS'),
+    status enum ('OPEN','ASSIGNED','IN_PROGRESS','CLOSED','CANCELLED'),
+    priority enum ('LOW','MEDIUM','HIGH','URGENT'),
+    assigned_staff_id bigint,
+    resolution_notes varchar(255),
+    schedule_date datetime(6),
+    completion_date datetime(6),
+    updated_date datetime(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FK7cdmvoc4ggo0016kq7m5vt1un FOREIGN KEY (assigned_staff_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE expenses (
+    id bigint NOT NULL AUTO_INCREMENT,
+    description varchar(255),
+    amount decimal(10,2) NOT NULL,
+    expense_date datetime(6),
+    receipt_number varchar(255),
+    vendor_name varchar(255),
+    notes varchar(255),
+    complaint_id bigint NOT NULL,
+    added_by_user_id bigint,
+    PRIMARY KEY (id),
+    CONSTRAINT FKgtjq58xbb770njhwkhedqf834 FOREIGN KEY (complaint_id) REFERENCES complaints (id),
+    CONSTRAINT FKi4qd50gpq4pywo91571jdpq2s FOREIGN KEY (added_by_user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE staff_expenses (
+    id bigint NOT NULL AUTO_INCREMENT,
+    advance_paid decimal(10,2),
+    amount decimal(10,2) NOT NULL,
+    expense_date datetime(6),
+    reason varchar(500),
+    complaint_number varchar(255),
+    status enum ('PENDING','APPROVED','PAID','CLEARED','REJECTED'),
+    is_paid_by_company bit,
+    paid_date datetime(6),
+    created_at datetime(6),
+    updated_at datetime(6),
+    staff_user_id bigint NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKm0ghyf30eivrdrfr2lr3tfhi8 FOREIGN KEY (staff_user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,17 @@
+-- Composite indexes for the hot complaint and expense queries.
+-- The foreign key columns covered here no longer need InnoDB's implicit FK indexes.
+
+-- Dashboard / list filters: status + priority, newest first
+CREATE INDEX idx_complaints_status_priority_created ON complaints (status, priority, created_date);
+
+-- Staff schedules and "my assignments"
+CREATE INDEX idx_complaints_staff_schedule ON complaints (assigned_staff_id, schedule_date);
+
+-- Public form active-complaint check by mobile number
+CREATE INDEX idx_complaints_mobile_status ON complaints (mobile_number, status);
+
+-- Staff expense ledgers and unpaid balances
+CREATE INDEX idx_staff_expenses_staff_paid_created ON staff_expenses (staff_user_id, is_paid_by_company, created_at);
+
+-- Expenses per complaint
+CREATE INDEX idx_expenses_complaint ON expenses (complaint_id);
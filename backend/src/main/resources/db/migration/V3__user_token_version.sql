@@ -0,0 +1,3 @@
+-- Account version embedded in access tokens as the "ver" claim.
+-- Bumped on password, role, username or active-state changes so older tokens stop working.
+ALTER TABLE users ADD COLUMN token_version int NOT NULL DEFAULT 0;
@@ -0,0 +1,22 @@
+-- Delta sync (GET /complaints/changes): complaints modified since a client's last sync.
+
+-- Rows from before updated_date was always set would never show up in a delta
+UPDATE complaints SET updated_date = COALESCE(created_date, CURRENT_TIMESTAMP(6)) WHERE updated_date IS NULL;
+
+-- Keyset scan over (updated_date, id), for admins and per assigned staff member
+CREATE INDEX idx_complaints_updated ON complaints (updated_date, id);
+CREATE INDEX idx_complaints_staff_updated ON complaints (assigned_staff_id, updated_date, id);
+
+-- Complaints that disappeared from a client's view: deleted, or reassigned away from a staff member.
+-- No foreign keys, the complaint row is usually gone. Purged after app.sync.tombstone-retention-days.
+CREATE TABLE complaint_tombstones (
+    id bigint NOT NULL AUTO_INCREMENT,
+    complaint_id bigint NOT NULL,
+    staff_user_id bigint,
+    reason enum ('DELETED','UNASSIGNED') NOT NULL,
+    removed_at datetime(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_complaint_tombstones_removed ON complaint_tombstones (removed_at);
+CREATE INDEX idx_complaint_tombstones_staff_removed ON complaint_tombstones (staff_user_id, removed_at);
@@ -0,0 +1,28 @@
+-- Running expense totals per day, per user and per complaint, so expense statistics never scan expenses.
+-- Maintained by ExpenseRunningTotals in the same transaction as each expense write.
+
+CREATE TABLE expense_running_totals (
+    scope enum ('DAY','USER','COMPLAINT') NOT NULL,
+    scope_key bigint NOT NULL,
+    expense_count bigint NOT NULL,
+    total_amount decimal(14,2) NOT NULL,
+    PRIMARY KEY (scope, scope_key)
+) ENGINE=InnoDB;
+
+-- Day keys are the expense date as yyyyMMdd, 0 for expenses without a date
+INSERT INTO expense_running_totals (scope, scope_key, expense_count, total_amount)
+SELECT 'DAY', COALESCE(YEAR(expense_date) * 10000 + MONTH(expense_date) * 100 + DAYOFMONTH(expense_date), 0),
+       COUNT(*), SUM(amount)
+FROM expenses
+GROUP BY COALESCE(YEAR(expense_date) * 10000 + MONTH(expense_date) * 100 + DAYOFMONTH(expense_date), 0);
+
+INSERT INTO expense_running_totals (scope, scope_key, expense_count, total_amount)
+SELECT 'USER', added_by_user_id, COUNT(*), SUM(amount)
+FROM expenses
+WHERE added_by_user_id IS NOT NULL
+GROUP BY added_by_user_id;
+
+INSERT INTO expense_running_totals (scope, scope_key, expense_count, total_amount)
+SELECT 'COMPLAINT', complaint_id, COUNT(*), SUM(amount)
+FROM expenses
+GROUP BY complaint_id;
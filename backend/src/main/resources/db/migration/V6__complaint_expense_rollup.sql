@@ -0,0 +1,12 @@
+-- Per-complaint expense rollup, so list projections carry cost without per-row queries.
+-- Maintained by set-based increments on every expense write; a nightly repair job corrects drift.
+ALTER TABLE complaints ADD COLUMN expense_total decimal(14,2) NOT NULL DEFAULT 0;
+ALTER TABLE complaints ADD COLUMN expense_count bigint NOT NULL DEFAULT 0;
+
+UPDATE complaints c
+SET expense_total = COALESCE((SELECT SUM(e.amount) FROM expenses e WHERE e.complaint_id = c.id), 0),
+    expense_count = (SELECT COUNT(*) FROM expenses e WHERE e.complaint_id = c.id);
+
+-- Per-complaint running totals now live on the complaint row
+DELETE FROM expense_running_totals WHERE scope = 'COMPLAINT';
+ALTER TABLE expense_running_totals MODIFY scope enum ('DAY','USER') NOT NULL;
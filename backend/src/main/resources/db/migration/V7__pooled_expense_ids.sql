@@ -0,0 +1,11 @@
+-- Pooled id generation for expenses and staff_expenses (Hibernate table generator, allocationSize 50).
+-- IDENTITY ids forced one insert per round trip; pooled ids let Hibernate JDBC-batch inserts.
+CREATE TABLE id_generators (
+    sequence_name varchar(255) NOT NULL,
+    next_val bigint,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB;
+
+-- The pooled optimizer hands out (next_val - 49) .. next_val first, so start 50 above the current maximum
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'expenses', COALESCE(MAX(id), 0) + 50 FROM expenses;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'staff_expenses', COALESCE(MAX(id), 0) + 50 FROM staff_expenses;
@@ -0,0 +1,52 @@
+-- Daily expense and staff expense rollups for time-bucketed analytics, overall and per breakdown group.
+-- Maintained by ExpenseDailyRollups in the same transaction as each write; weeks and months are summed from days.
+
+CREATE TABLE expense_daily_rollups (
+    source enum ('EXPENSE','STAFF_EXPENSE') NOT NULL,
+    dimension enum ('ALL','STAFF','VENDOR','COMPLAINT_TYPE') NOT NULL,
+    expense_day date NOT NULL,
+    group_key varchar(255) NOT NULL,
+    expense_count bigint NOT NULL,
+    total_amount decimal(14,2) NOT NULL,
+    PRIMARY KEY (source, dimension, expense_day, group_key)
+) ENGINE=InnoDB;
+
+-- Group keys: '' when the value is missing, user ids as text, vendor names trimmed and lower-cased.
+-- Expenses without a date are not bucketed.
+INSERT INTO expense_daily_rollups (source, dimension, expense_day, group_key, expense_count, total_amount)
+SELECT 'EXPENSE', 'ALL', CAST(expense_date AS DATE), '', COUNT(*), SUM(amount)
+FROM expenses
+WHERE expense_date IS NOT NULL
+GROUP BY CAST(expense_date AS DATE);
+
+INSERT INTO expense_daily_rollups (source, dimension, expense_day, group_key, expense_count, total_amount)
+SELECT 'EXPENSE', 'STAFF', CAST(expense_date AS DATE), COALESCE(CONCAT('', added_by_user_id), ''), COUNT(*), SUM(amount)
+FROM expenses
+WHERE expense_date IS NOT NULL
+GROUP BY CAST(expense_date AS DATE), added_by_user_id;
+
+INSERT INTO expense_daily_rollups (source, dimension, expense_day, group_key, expense_count, total_amount)
+SELECT 'EXPENSE', 'VENDOR', CAST(expense_date AS DATE), LOWER(TRIM(COALESCE(vendor_name, ''))), COUNT(*), SUM(amount)
+FROM expenses
+WHERE expense_date IS NOT NULL
+GROUP BY CAST(expense_date AS DATE), LOWER(TRIM(COALESCE(vendor_name, '')));
+
+INSERT INTO expense_daily_rollups (source, dimension, expense_day, group_key, expense_count, total_amount)
+SELECT 'EXPENSE', 'COMPLAINT_TYPE', CAST(e.expense_date AS DATE), COALESCE(CONCAT('', c.complaint_type), ''),
+       COUNT(*), SUM(e.amount)
+FROM expenses e
+JOIN complaints c ON c.id = e.complaint_id
+WHERE e.expense_date IS NOT NULL
+GROUP BY CAST(e.expense_date AS DATE), c.complaint_type;
+
+INSERT INTO expense_daily_rollups (source, dimension, expense_day, group_key, expense_count, total_amount)
+SELECT 'STAFF_EXPENSE', 'ALL', CAST(expense_date AS DATE), '', COUNT(*), SUM(amount)
+FROM staff_expenses
+WHERE expense_date IS NOT NULL
+GROUP BY CAST(expense_date AS DATE);
+
+INSERT INTO expense_daily_rollups (source, dimension, expense_day, group_key, expense_count, total_amount)
+SELECT 'STAFF_EXPENSE', 'STAFF', CAST(expense_date AS DATE), COALESCE(CONCAT('', staff_user_id), ''), COUNT(*), SUM(amount)
+FROM staff_expenses
+WHERE expense_date IS NOT NULL
+GROUP BY CAST(expense_date AS DATE), staff_user_id;
@@ -4,7 +4,8 @@
 CREATE DATABASE IF NOT EXISTS task_management_db;
 USE task_management_db;
 
--- The tables will be automatically created by Spring Boot JPA
+-- The tables are created by Flyway migrations on application startup
+-- (backend/src/main/resources/db/migration)
 -- This script is just for creating the database
 
 -- Grant permissions (adjust as needed for your MySQL setup)
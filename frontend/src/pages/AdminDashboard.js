@@ -21,6 +21,19 @@ const AdminDashboard = () => {
     fetchDashboardData();
   }, []);
 
+  // Refetch when complaints change; bursts (e.g. bulk assign) collapse into one refetch
+  useEffect(() => {
+    let timer = null;
+    const unsubscribe = complaintService.subscribeToChanges(() => {
+      clearTimeout(timer);
+      timer = setTimeout(fetchDashboardData, 500);
+    });
+    return () => {
+      clearTimeout(timer);
+      unsubscribe();
+    };
+  }, []);
+
   const fetchDashboardData = async () => {
     try {
       const [complaintStats, userStats, recent, todaysScheduled] = await Promise.all([
@@ -25,6 +25,19 @@ const StaffDashboard = () => {
     fetchStaffData();
   }, []);
 
+  // Refetch when complaints change; bursts (e.g. bulk assign) collapse into one refetch
+  useEffect(() => {
+    let timer = null;
+    const unsubscribe = complaintService.subscribeToChanges(() => {
+      clearTimeout(timer);
+      timer = setTimeout(fetchStaffData, 500);
+    });
+    return () => {
+      clearTimeout(timer);
+      unsubscribe();
+    };
+  }, []);
+
   const fetchStaffData = async () => {
     try {
       // Fetch assigned complaints for the current staff member
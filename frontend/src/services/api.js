@@ -3,12 +3,7 @@ import axios from 'axios';
 // Create axios instance with default config
 const api = axios.create({
  // baseURL: 'http://localhost:8080/api',
-  baseURL: 'https://tms.aarohisewing.com/api',
-  headers: {
-    'Cache-Control': 'no-cache',
-    'Pragma': 'no-cache',
-    'Expires': '0'
-  }
+  baseURL: 'https://tms.aarohisewing.com/api'
 });
 
 // Request interceptor to add JWT token
@@ -18,15 +13,7 @@ api.interceptors.request.use(
     if (token) {
       config.headers.Authorization = `Bearer ${token}`;
     }
-    
-    // Add timestamp to prevent caching
-    if (config.method === 'get') {
-      config.params = {
-        ...config.params,
-        _t: Date.now()
-      };
-    }
-    
+    // GETs revalidate with the server's ETag (If-None-Match / 304), so no cache-busting params
     return config;
   },
   (error) => {
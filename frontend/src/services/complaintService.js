@@ -1,5 +1,8 @@
 import api from './api';
 
+// Delay before reopening the complaint stream after it drops
+const STREAM_RETRY_MS = 5000;
+
 /**
  * Complaint service for CRUD operations
  */
@@ -14,6 +17,30 @@ class ComplaintService {
     }
   }
 
+  // Get one page of complaints (Admin only) - page-numbered fallback for tables
+  async getComplaintsPage(page = 0, size = 20, sortBy = 'createdDate', direction = 'desc') {
+    try {
+      const response = await api.get('/complaints/page', {
+        params: { page, size, sortBy, direction }
+      });
+      return response.data;
+    } catch (error) {
+      throw error.response?.data || error.message;
+    }
+  }
+
+  // Get complaints by cursor (Admin only) - pass nextCursor from the previous call
+  async getComplaintsByCursor(cursor = null, size = 50, direction = 'desc') {
+    try {
+      const response = await api.get('/complaints/cursor', {
+        params: { cursor: cursor || undefined, size, direction }
+      });
+      return response.data;
+    } catch (error) {
+      throw error.response?.data || error.message;
+    }
+  }
+
   // Get complaint by ID
   async getComplaintById(id) {
     try {
@@ -86,6 +113,26 @@ class ComplaintService {
     }
   }
 
+  // Assign many complaints at once; items are { complaintId, staffId, scheduleDate }
+  // Returns one { complaintId, staffId, success, message } result per item
+  async bulkAssignComplaints(items) {
+    try {
+      const payload = items.map(item => {
+        let formattedDate = item.scheduleDate;
+        if (formattedDate && !formattedDate.includes('T')) {
+          formattedDate = formattedDate + 'T09:00:00';
+        } else if (formattedDate && formattedDate.split(':').length === 2) {
+          formattedDate = formattedDate + ':00';
+        }
+        return { ...item, scheduleDate: formattedDate || null };
+      });
+      const response = await api.post('/complaints/bulk-assign', payload);
+      return response.data;
+    } catch (error) {
+      throw error.response?.data || error.message;
+    }
+  }
+
   // Update schedule date for a complaint
   async updateScheduleDate(complaintId, scheduleDate) {
     try {
@@ -215,6 +262,100 @@ class ComplaintService {
     }
   }
 
+  // Get complaints changed since the last sync (admins get all, staff only their own)
+  // Follows nextCursor until the last page; omit since for a full sync
+  // Returns { changed, removed, syncedAt, resyncRequired }: drop removed ids first, then upsert changed,
+  // and pass syncedAt as since next time. resyncRequired means since is too old, sync again without it.
+  async getComplaintChanges(since = null, size = 100) {
+    try {
+      const changed = [];
+      let cursor;
+      let page;
+      do {
+        const response = await api.get('/complaints/changes', {
+          params: { since: since || undefined, cursor, size }
+        });
+        page = response.data;
+        changed.push(...page.changed);
+        cursor = page.nextCursor;
+      } while (page.hasMore);
+      return {
+        changed,
+        removed: page.removed,
+        syncedAt: page.syncedAt,
+        resyncRequired: page.resyncRequired
+      };
+    } catch (error) {
+      throw error.response?.data || error.message;
+    }
+  }
+
+  // Subscribe to live complaint changes (admins get all, staff only their own)
+  // EventSource can't send headers, so each connection first trades the token for a
+  // short-lived single-use stream ticket; the token itself never goes in the URL
+  // Calls onChange(change) per delta and onChange(null) when the server asks for a full refetch,
+  // and after a reconnect since changes may have been missed meanwhile
+  // Returns a function that closes the stream
+  subscribeToChanges(onChange) {
+    if (!localStorage.getItem('token') || typeof EventSource === 'undefined') {
+      return () => {};
+    }
+    let source = null;
+    let retryTimer = null;
+    let closed = false;
+
+    // A used ticket can't open the stream again, so reconnect with a new one instead of
+    // letting EventSource retry the same URL
+    const retry = () => {
+      if (!closed) {
+        retryTimer = setTimeout(() => connect(true), STREAM_RETRY_MS);
+      }
+    };
+
+    const connect = async (reconnecting) => {
+      let ticket;
+      try {
+        const response = await api.post('/complaints/stream/ticket');
+        ticket = response.data.ticket;
+      } catch (error) {
+        retry();
+        return;
+      }
+      if (closed) {
+        return;
+      }
+      source = new EventSource(
+        `${api.defaults.baseURL}/complaints/stream?ticket=${encodeURIComponent(ticket)}`
+      );
+      source.addEventListener('open', () => {
+        if (reconnecting) {
+          onChange(null);
+        }
+      });
+      source.addEventListener('complaint', (event) => {
+        try {
+          onChange(JSON.parse(event.data));
+        } catch (error) {
+          onChange(null);
+        }
+      });
+      source.addEventListener('resync', () => onChange(null));
+      source.onerror = () => {
+        source.close();
+        retry();
+      };
+    };
+
+    connect(false);
+    return () => {
+      closed = true;
+      clearTimeout(retryTimer);
+      if (source) {
+        source.close();
+      }
+    };
+  }
+
   // Get staff schedule for a specific date
   async getStaffScheduleForDate(staffId, date) {
     try {
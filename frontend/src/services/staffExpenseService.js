@@ -24,6 +24,17 @@ class StaffExpenseService {
     }
   }
 
+  // Create several staff expenses in one request (all or nothing, at most 100)
+  async createStaffExpensesBatch(expenses) {
+    try {
+      const response = await api.post(`${API_URL}/batch`, expenses);
+      return response.data;
+    } catch (error) {
+      console.error('Error creating staff expenses:', error);
+      throw error;
+    }
+  }
+
   // Update staff expense (only if not paid)
   async updateStaffExpense(id, expenseData) {
     try {
@@ -136,6 +147,17 @@ class StaffExpenseService {
     }
   }
 
+  // Get expense balances of all staff members (Admin only)
+  async getAllStaffBalances() {
+    try {
+      const response = await api.get(`${API_URL}/balances`);
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching staff balances:', error);
+      throw error;
+    }
+  }
+
   // Search staff expenses by complaint number
   async searchByComplaintNumber(complaintNumber) {
     try {
@@ -161,6 +183,19 @@ class StaffExpenseService {
       throw error;
     }
   }
+
+  // Get staff expense spend per DAY, WEEK or MONTH, overall (ALL) or per STAFF (Admin only)
+  async getStaffExpenseAnalytics(bucket = 'DAY', groupBy = 'ALL', from, to) {
+    try {
+      const response = await api.get(`${API_URL}/analytics`, {
+        params: { bucket, groupBy, from, to }
+      });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching staff expense analytics:', error);
+      throw error;
+    }
+  }
 }
 
 const staffExpenseService = new StaffExpenseService();